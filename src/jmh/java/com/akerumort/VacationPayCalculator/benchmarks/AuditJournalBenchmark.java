@@ -0,0 +1,100 @@
+package com.akerumort.VacationPayCalculator.benchmarks;
+
+import com.akerumort.VacationPayCalculator.dto.DetailedVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayResponse;
+import com.akerumort.VacationPayCalculator.mappers.VacationPayMapperImpl;
+import com.akerumort.VacationPayCalculator.metrics.VacationPayMetrics;
+import com.akerumort.VacationPayCalculator.services.AuditJournal;
+import com.akerumort.VacationPayCalculator.services.BigDecimalMoneyEngine;
+import com.akerumort.VacationPayCalculator.services.HolidayCalendar;
+import com.akerumort.VacationPayCalculator.services.VacationPayResultCache;
+import com.akerumort.VacationPayCalculator.services.VacationPayService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cost of the audit journal on the request path: a start/end period calculation with the journal disabled and
+ * enabled, and the enqueue of a record alone. The writer thread runs alongside and journals to a temporary
+ * directory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditJournalBenchmark {
+
+    @Param({"false", "true"})
+    public boolean audit;
+
+    private Path directory;
+    private AuditJournal auditJournal;
+    private VacationPayService vacationPayService;
+    private BigDecimal averageSalary;
+    private LocalDate vacationStartDate;
+    private LocalDate vacationEndDate;
+    private VacationPayResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("audit-journal-benchmark");
+        HolidayCalendar holidayCalendar = new HolidayCalendar();
+        auditJournal = new AuditJournal(audit, directory.toString(), DataSize.ofMegabytes(64),
+                Duration.ofMillis(10), 1000, 65536, new SimpleMeterRegistry());
+        vacationPayService = new VacationPayService(new VacationPayMapperImpl(), holidayCalendar,
+                new BigDecimalMoneyEngine(), new VacationPayMetrics(new SimpleMeterRegistry()),
+                new VacationPayResultCache(false, 0, Duration.ZERO, new SimpleMeterRegistry()),
+                auditJournal);
+
+        averageSalary = new BigDecimal("80000.00");
+        vacationStartDate = LocalDate.of(2024, 4, 29);
+        vacationEndDate = vacationStartDate.plusDays(27);
+        response = new DetailedVacationPayResponseDto(new BigDecimal("42000.00"), 8, 20,
+                VacationPayResponse.TAX_MESSAGE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        auditJournal.destroy();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object rangeMode() {
+        return vacationPayService.calculateVacationPay(averageSalary, 28, null,
+                vacationStartDate, vacationEndDate);
+    }
+
+    @Benchmark
+    public void enqueue() {
+        auditJournal.record(1, averageSalary, null, 28, null, vacationStartDate, vacationEndDate, null, response);
+    }
+}
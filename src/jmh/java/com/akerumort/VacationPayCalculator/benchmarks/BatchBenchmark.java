@@ -0,0 +1,88 @@
+package com.akerumort.VacationPayCalculator.benchmarks;
+
+import com.akerumort.VacationPayCalculator.dto.VacationPayBatchItemResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayRequestDto;
+import com.akerumort.VacationPayCalculator.mappers.VacationPayMapperImpl;
+import com.akerumort.VacationPayCalculator.metrics.VacationPayMetrics;
+import com.akerumort.VacationPayCalculator.services.AuditJournal;
+import com.akerumort.VacationPayCalculator.services.BigDecimalMoneyEngine;
+import com.akerumort.VacationPayCalculator.services.EarningsHistoryStore;
+import com.akerumort.VacationPayCalculator.services.HolidayCalendar;
+import com.akerumort.VacationPayCalculator.services.ParallelCalculationExecutor;
+import com.akerumort.VacationPayCalculator.services.VacationPayBatchService;
+import com.akerumort.VacationPayCalculator.services.VacationPayResultCache;
+import com.akerumort.VacationPayCalculator.services.VacationPayService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A payroll batch of 10,000 start/end period requests calculated by {@link VacationPayBatchService} on fork-join
+ * pools of different parallelism; 0 is the number of available processors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"1", "2", "4", "0"})
+    private int parallelism;
+
+    private ParallelCalculationExecutor parallelCalculationExecutor;
+    private VacationPayBatchService vacationPayBatchService;
+    private List<VacationPayRequestDto> batch;
+
+    @Setup
+    public void setUp() {
+        VacationPayService vacationPayService = new VacationPayService(new VacationPayMapperImpl(),
+                new HolidayCalendar(), new BigDecimalMoneyEngine(), new VacationPayMetrics(new SimpleMeterRegistry()),
+                new VacationPayResultCache(false, 0, Duration.ZERO, new SimpleMeterRegistry()),
+                new AuditJournal(false, "", DataSize.ofMegabytes(1), Duration.ZERO, 0, 0, new SimpleMeterRegistry()));
+        parallelCalculationExecutor = new ParallelCalculationExecutor(parallelism, 256);
+        vacationPayBatchService = new VacationPayBatchService(vacationPayService,
+                Validation.buildDefaultValidatorFactory().getValidator(), parallelCalculationExecutor,
+                new EarningsHistoryStore("", Duration.ZERO));
+
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            LocalDate start = LocalDate.of(2024, 1, 1).plusDays(i % 300);
+            int days = 7 + i % 21;
+            batch.add(new VacationPayRequestDto(BigDecimal.valueOf(4_000_000 + (i * 13_700L) % 16_000_000, 2),
+                    days, null, start, start.plusDays(days - 1)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        parallelCalculationExecutor.destroy();
+    }
+
+    @Benchmark
+    public List<VacationPayBatchItemResponseDto> calculateBatch() {
+        return vacationPayBatchService.calculateBatch(batch);
+    }
+}
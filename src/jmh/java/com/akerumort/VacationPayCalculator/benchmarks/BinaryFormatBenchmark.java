@@ -0,0 +1,108 @@
+package com.akerumort.VacationPayCalculator.benchmarks;
+
+import com.akerumort.VacationPayCalculator.config.BinaryContentConfig;
+import com.akerumort.VacationPayCalculator.config.VacationPayResponseModule;
+import com.akerumort.VacationPayCalculator.dto.DetailedVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayRequestDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayResponse;
+import com.akerumort.VacationPayCalculator.dto.VacationPeriodDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPeriodPayDto;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of a request with 20 vacation dates and two periods, and of a split-vacation response, in JSON (as
+ * configured by Spring Boot, with the precomputed response serializers), CBOR and Smile (with
+ * {@code BinaryFormatModule}). The payload sizes are printed once per fork.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectWriter requestWriter;
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private VacationPayRequestDto request;
+    private DetailedVacationPayResponseDto response;
+    private byte[] encodedRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = switch (format) {
+            case "json" -> new ObjectMapper().registerModule(new JavaTimeModule())
+                    .registerModule(new VacationPayResponseModule(false))
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+            case "cbor" -> BinaryContentConfig.configure(new CBORMapper());
+            case "smile" -> BinaryContentConfig.configure(new SmileMapper());
+            default -> throw new IllegalArgumentException(format);
+        };
+        requestWriter = mapper.writerFor(VacationPayRequestDto.class);
+        requestReader = mapper.readerFor(VacationPayRequestDto.class);
+        responseWriter = mapper.writerFor(DetailedVacationPayResponseDto.class);
+
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = LocalDate.of(2024, 9, 2); dates.size() < 20; date = date.plusDays(1)) {
+            dates.add(date);
+        }
+        request = new VacationPayRequestDto(new BigDecimal("84350.75"), 20, dates, null, null, List.of(
+                new VacationPeriodDto(LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 9)),
+                new VacationPeriodDto(LocalDate.of(2024, 8, 3), LocalDate.of(2024, 8, 6))));
+        response = new DetailedVacationPayResponseDto(new BigDecimal("18252.34"), 4, 7, List.of(
+                new VacationPeriodPayDto(LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 9),
+                        new BigDecimal("9504.59"), 2, 5),
+                new VacationPeriodPayDto(LocalDate.of(2024, 8, 3), LocalDate.of(2024, 8, 6),
+                        new BigDecimal("4751.87"), 2, 2)),
+                VacationPayResponse.TAX_MESSAGE);
+        encodedRequest = encodeRequest();
+
+        System.out.printf("%n%s: request %d bytes, response %d bytes%n", format, encodedRequest.length,
+                encodeResponse().length);
+    }
+
+    @Benchmark
+    public byte[] encodeRequest() throws IOException {
+        return requestWriter.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public VacationPayRequestDto decodeRequest() throws IOException {
+        return requestReader.readValue(encodedRequest);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+}
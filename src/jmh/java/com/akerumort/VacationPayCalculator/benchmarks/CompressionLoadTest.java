@@ -0,0 +1,121 @@
+package com.akerumort.VacationPayCalculator.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures bytes on the wire and latency of {@code POST /calculate/batch} on a running server for payroll-sized
+ * batches, with and without gzip responses, gzip request bodies and HTTP/2. The client does not inflate the
+ * responses, so the reported response size is the size on the wire.
+ * <p>
+ * Arguments: base URL (default {@code http://localhost:8080}), requests per case (default 50), batch sizes
+ * (default 1 100 1000 10000; size 1 is sent to {@code POST /calculate} as a single calculation).
+ */
+public final class CompressionLoadTest {
+
+    private CompressionLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI base = URI.create(args.length > 0 ? args[0] : "http://localhost:8080");
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int[] sizes = args.length > 2
+                ? Arrays.stream(args, 2, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1, 100, 1000, 10000};
+
+        HttpClient http1 = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpClient http2 = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+        System.out.printf("%-6s %-8s %-13s %-14s %10s %10s %9s %9s%n", "items", "protocol", "request body",
+                "response body", "sent B", "received B", "p50 ms", "p90 ms");
+        for (int size : sizes) {
+            byte[] body = (size == 1 ? item(0) : batch(size)).getBytes(StandardCharsets.UTF_8);
+            byte[] compressedBody = gzip(body);
+            URI uri = base.resolve(size == 1 ? "/calculate" : "/calculate/batch");
+
+            run(http1, uri, size, body, false, false, requests);
+            run(http1, uri, size, body, false, true, requests);
+            run(http1, uri, size, compressedBody, true, true, requests);
+            run(http2, uri, size, body, false, true, requests);
+        }
+    }
+
+    private static void run(HttpClient client, URI uri, int size, byte[] body, boolean compressedRequest,
+                            boolean compressedResponse, int requests) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (compressedRequest) {
+            builder.header("Content-Encoding", "gzip");
+        }
+        if (compressedResponse) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        HttpRequest request = builder.build();
+
+        for (int i = 0; i < Math.max(5, requests / 5); i++) {
+            send(client, request);
+        }
+
+        long[] latencies = new long[requests];
+        HttpResponse<byte[]> response = null;
+        for (int i = 0; i < requests; i++) {
+            long start = System.nanoTime();
+            response = send(client, request);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        String responseEncoding = response.headers().firstValue("Content-Encoding").orElse("identity");
+        System.out.printf("%-6d %-8s %-13s %-14s %10d %10d %9.2f %9.2f%n", size,
+                response.version() == HttpClient.Version.HTTP_2 ? "h2c" : "http/1.1",
+                compressedRequest ? "gzip" : "identity", responseEncoding, body.length, response.body().length,
+                latencies[requests / 2] / 1e6, latencies[requests * 9 / 10] / 1e6);
+    }
+
+    private static HttpResponse<byte[]> send(HttpClient client, HttpRequest request)
+            throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response;
+    }
+
+    /**
+     * Batch of range requests with varying salaries and periods, as produced by a monthly payroll run.
+     */
+    private static String batch(int size) {
+        StringBuilder batch = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                batch.append(',');
+            }
+            batch.append(item(i));
+        }
+        return batch.append(']').toString();
+    }
+
+    private static String item(int i) {
+        LocalDate start = LocalDate.of(2024, 1, 1).plusDays(i % 300);
+        int days = 7 + i % 21;
+        return "{\"averageSalary\":" + (40000 + (i * 137) % 160000) + ".00,\"vacationDays\":" + days
+                + ",\"vacationStartDate\":\"" + start + "\",\"vacationEndDate\":\"" + start.plusDays(days - 1) + "\"}";
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,111 @@
+package com.akerumort.VacationPayCalculator.benchmarks;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Closed-loop load test of {@code POST /calculate} on a running server: a fixed number of requests are kept in
+ * flight for the given time, each one sent as soon as the previous one on its slot completes. Reports the
+ * throughput and latency percentiles after a warm-up of the same length. With a batch size above one the same
+ * calculation is sent that many times per {@code POST /calculate/batch} request instead, so the calculations per
+ * second of both endpoints can be compared.
+ * <p>
+ * Arguments: base URL (default {@code http://localhost:8080}), concurrency (default 64), seconds (default 10),
+ * batch size (default 1).
+ */
+public final class ConcurrentLoadTest {
+
+    private static final String BODY = "{\"averageSalary\":80000.00,\"vacationDays\":14,"
+            + "\"vacationStartDate\":\"2024-09-01\",\"vacationEndDate\":\"2024-09-14\"}";
+    private static final int MAX_SAMPLES = 1 << 22;
+
+    private ConcurrentLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI base = URI.create(args.length > 0 ? args[0] : "http://localhost:8080");
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int batchSize = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(base.resolve(batchSize > 1 ? "/calculate/batch" : "/calculate"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(batchSize > 1
+                        ? String.join(",", Collections.nCopies(batchSize, BODY)).transform(items -> "[" + items + "]")
+                        : BODY))
+                .build();
+
+        run(client, request, concurrency, seconds, batchSize, null);
+        run(client, request, concurrency, seconds, batchSize, System.out);
+    }
+
+    private static void run(HttpClient client, HttpRequest request, int concurrency, int seconds, int batchSize,
+                            PrintStream report) throws InterruptedException {
+        AtomicLongArray latencies = new AtomicLongArray(MAX_SAMPLES);
+        AtomicInteger samples = new AtomicInteger();
+        AtomicLong failures = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+
+        for (int slot = 0; slot < concurrency; slot++) {
+            send(client, request, deadline, latencies, samples, failures, done);
+        }
+        done.await();
+
+        if (report == null) {
+            return;
+        }
+        int count = Math.min(samples.get(), MAX_SAMPLES);
+        long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+        report.printf("concurrency %d, batch size %d: %.0f requests/s, %.0f calculations/s, %d failed%n",
+                concurrency, batchSize, (double) count / seconds, (double) count * batchSize / seconds,
+                failures.get());
+        if (count > 0) {
+            report.printf("latency ms: p50 %.2f, p99 %.2f, p99.9 %.2f, max %.2f%n", percentile(sorted, 0.50),
+                    percentile(sorted, 0.99), percentile(sorted, 0.999), sorted[count - 1] / 1e6);
+        }
+    }
+
+    /**
+     * Sends one request and, until the deadline, the next one on the same slot when it completes.
+     */
+    private static void send(HttpClient client, HttpRequest request, long deadline, AtomicLongArray latencies,
+                             AtomicInteger samples, AtomicLong failures, CountDownLatch done) {
+        long started = System.nanoTime();
+        if (started >= deadline) {
+            done.countDown();
+            return;
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (error == null && response.statusCode() == 200) {
+                int sample = samples.getAndIncrement();
+                if (sample < MAX_SAMPLES) {
+                    latencies.set(sample, System.nanoTime() - started);
+                }
+            } else {
+                failures.incrementAndGet();
+            }
+            send(client, request, deadline, latencies, samples, failures, done);
+        });
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+    }
+}
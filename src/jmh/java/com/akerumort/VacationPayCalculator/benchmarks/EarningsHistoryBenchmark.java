@@ -0,0 +1,101 @@
+package com.akerumort.VacationPayCalculator.benchmarks;
+
+import com.akerumort.VacationPayCalculator.services.EarningsHistoryStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average salary of an employee from 12 months of earnings, 100,000 employees: the lookup of
+ * {@link EarningsHistoryStore}, the incremental update by a new month, and a rescan of the 12 months with
+ * {@code BigDecimal} as an upstream system would do on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EarningsHistoryBenchmark {
+
+    private static final int EMPLOYEES = 100_000;
+
+    private EarningsHistoryStore store;
+    private String[] employeeIds;
+    private List<List<Month>> histories;
+    private int next;
+    private int nextMonth;
+
+    @Setup
+    public void setUp() {
+        store = new EarningsHistoryStore("", Duration.ZERO);
+        employeeIds = new String[EMPLOYEES];
+        histories = new ArrayList<>(EMPLOYEES);
+        for (int employee = 0; employee < EMPLOYEES; employee++) {
+            employeeIds[employee] = "E-" + employee;
+            List<Month> history = new ArrayList<>(12);
+            for (int month = 1; month <= 12; month++) {
+                YearMonth yearMonth = YearMonth.of(2023, month);
+                BigDecimal earnings = BigDecimal.valueOf(4_000_000 + employee * 7L + month * 13L, 2);
+                int excludedDays = (employee + month) % 10 == 0 ? 5 : 0;
+                store.record(employeeIds[employee], yearMonth, earnings, excludedDays);
+                history.add(new Month(yearMonth, earnings, excludedDays));
+            }
+            histories.add(history);
+        }
+        nextMonth = 2024 * 12;
+    }
+
+    @Benchmark
+    public Optional<BigDecimal> lookup() {
+        return store.getAverageSalary(employeeIds[nextEmployee()]);
+    }
+
+    @Benchmark
+    public Optional<BigDecimal> recordMonth() {
+        int employee = nextEmployee();
+        if (employee == 0) {
+            nextMonth++;
+        }
+        return store.record(employeeIds[employee], YearMonth.of(nextMonth / 12, nextMonth % 12 + 1),
+                new BigDecimal("45000.00"), 0);
+    }
+
+    @Benchmark
+    public BigDecimal rescan() {
+        BigDecimal earnings = BigDecimal.ZERO;
+        BigDecimal months = BigDecimal.ZERO;
+        for (Month month : histories.get(nextEmployee())) {
+            int days = month.month().lengthOfMonth();
+            earnings = earnings.add(month.earnings());
+            months = months.add(BigDecimal.valueOf(days - month.excludedDays())
+                    .divide(BigDecimal.valueOf(days), 10, RoundingMode.HALF_UP));
+        }
+        return earnings.divide(months, 2, RoundingMode.HALF_UP);
+    }
+
+    private int nextEmployee() {
+        int employee = next;
+        next = employee + 1 == EMPLOYEES ? 0 : employee + 1;
+        return employee;
+    }
+
+    private record Month(YearMonth month, BigDecimal earnings, int excludedDays) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.akerumort.VacationPayCalculator.benchmarks;
+
+import com.akerumort.VacationPayCalculator.mappers.VacationPayMapperImpl;
+import com.akerumort.VacationPayCalculator.metrics.VacationPayMetrics;
+import com.akerumort.VacationPayCalculator.services.AuditJournal;
+import com.akerumort.VacationPayCalculator.services.BigDecimalMoneyEngine;
+import com.akerumort.VacationPayCalculator.services.HolidayCalendar;
+import com.akerumort.VacationPayCalculator.services.VacationPayForecastService;
+import com.akerumort.VacationPayCalculator.services.VacationPayResultCache;
+import com.akerumort.VacationPayCalculator.services.VacationPayService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole year of start dates by vacation lengths of 1 to 28 days: one forecast against a start/end period
+ * calculation for every start date and length.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForecastBenchmark {
+
+    private static final int YEAR = 2024;
+    private static final int MAX_LENGTH = 28;
+
+    private VacationPayService vacationPayService;
+    private VacationPayForecastService vacationPayForecastService;
+    private BigDecimal averageSalary;
+
+    @Setup
+    public void setUp() {
+        HolidayCalendar holidayCalendar = new HolidayCalendar();
+        vacationPayService = new VacationPayService(new VacationPayMapperImpl(), holidayCalendar,
+                new BigDecimalMoneyEngine(), new VacationPayMetrics(new SimpleMeterRegistry()),
+                new VacationPayResultCache(false, 0, Duration.ZERO, new SimpleMeterRegistry()),
+                new AuditJournal(false, "", DataSize.ofMegabytes(1), Duration.ZERO, 0, 0, new SimpleMeterRegistry()));
+        vacationPayForecastService = new VacationPayForecastService(holidayCalendar, new BigDecimalMoneyEngine());
+        averageSalary = new BigDecimal("80000.00");
+    }
+
+    @Benchmark
+    public Object forecastYear() {
+        return vacationPayForecastService.forecast(averageSalary, YEAR, MAX_LENGTH);
+    }
+
+    @Benchmark
+    public void rangeModeYear(Blackhole blackhole) {
+        LocalDate yearEnd = LocalDate.of(YEAR + 1, 1, 1);
+        for (LocalDate start = LocalDate.of(YEAR, 1, 1); start.isBefore(yearEnd); start = start.plusDays(1)) {
+            for (int length = 1; length <= MAX_LENGTH; length++) {
+                blackhole.consume(vacationPayService.calculateVacationPay(averageSalary, length, null, start,
+                        start.plusDays(length - 1)));
+            }
+        }
+    }
+}
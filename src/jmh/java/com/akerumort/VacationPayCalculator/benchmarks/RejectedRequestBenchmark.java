@@ -0,0 +1,99 @@
+package com.akerumort.VacationPayCalculator.benchmarks;
+
+import com.akerumort.VacationPayCalculator.exceptions.CustomValidationException;
+import com.akerumort.VacationPayCalculator.mappers.VacationPayMapperImpl;
+import com.akerumort.VacationPayCalculator.metrics.VacationPayMetrics;
+import com.akerumort.VacationPayCalculator.services.AuditJournal;
+import com.akerumort.VacationPayCalculator.services.BigDecimalMoneyEngine;
+import com.akerumort.VacationPayCalculator.services.HolidayCalendar;
+import com.akerumort.VacationPayCalculator.services.VacationPayResultCache;
+import com.akerumort.VacationPayCalculator.services.VacationPayService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rejecting an invalid request: the exception thrown by {@code calculateVacationPay} against the error
+ * code returned by {@code evaluate}, for a period with the wrong number of days, a reversed period and a list
+ * with a duplicate date.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RejectedRequestBenchmark {
+
+    @Param({"daysMismatch", "reversedPeriod", "duplicateDates"})
+    public String rejection;
+
+    private VacationPayService vacationPayService;
+
+    private BigDecimal averageSalary;
+    private int vacationDays;
+    private List<LocalDate> vacationDates;
+    private LocalDate vacationStartDate;
+    private LocalDate vacationEndDate;
+
+    @Setup
+    public void setUp() {
+        HolidayCalendar holidayCalendar = new HolidayCalendar();
+        vacationPayService = new VacationPayService(new VacationPayMapperImpl(), holidayCalendar,
+                new BigDecimalMoneyEngine(), new VacationPayMetrics(new SimpleMeterRegistry()),
+                new VacationPayResultCache(false, 0, Duration.ZERO, new SimpleMeterRegistry()),
+                new AuditJournal(false, "", DataSize.ofMegabytes(1), Duration.ZERO, 0, 0, new SimpleMeterRegistry()));
+
+        averageSalary = new BigDecimal("80000.00");
+        LocalDate start = LocalDate.of(2024, 4, 29);
+        switch (rejection) {
+            case "daysMismatch" -> {
+                vacationDays = 14;
+                vacationStartDate = start;
+                vacationEndDate = start.plusDays(27);
+            }
+            case "reversedPeriod" -> {
+                vacationDays = 14;
+                vacationStartDate = start.plusDays(13);
+                vacationEndDate = start;
+            }
+            case "duplicateDates" -> {
+                vacationDays = 3;
+                vacationDates = List.of(start, start.plusDays(1), start);
+            }
+            default -> throw new IllegalArgumentException("Unknown rejection " + rejection);
+        }
+    }
+
+    @Benchmark
+    public Object throwing() {
+        try {
+            return vacationPayService.calculateVacationPay(averageSalary, vacationDays, vacationDates,
+                    vacationStartDate, vacationEndDate);
+        } catch (CustomValidationException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    @Benchmark
+    public Object errorCode() {
+        return vacationPayService.evaluate(averageSalary, vacationDays, vacationDates,
+                vacationStartDate, vacationEndDate).error().getMessage();
+    }
+}
@@ -0,0 +1,69 @@
+package com.akerumort.VacationPayCalculator.benchmarks;
+
+import com.akerumort.VacationPayCalculator.config.VacationPayResponseModule;
+import com.akerumort.VacationPayCalculator.dto.DetailedVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.SimpleVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end Jackson serialization of the response DTOs: default bean serialization, the precomputed
+ * serializers of {@link VacationPayResponseModule}, and the same in compact mode. The response sizes are
+ * printed once per fork.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    @Param({"bean", "precomputed", "compact"})
+    public String serialization;
+
+    private ObjectMapper objectMapper;
+    private Object simpleResponse;
+    private Object detailedResponse;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        if (!serialization.equals("bean")) {
+            objectMapper.registerModule(new VacationPayResponseModule(serialization.equals("compact")));
+        }
+        simpleResponse = new SimpleVacationPayResponseDto(new BigDecimal("33256.03"),
+                VacationPayResponse.TAX_MESSAGE);
+        detailedResponse = new DetailedVacationPayResponseDto(new BigDecimal("23754.31"), 4, 10,
+                VacationPayResponse.TAX_MESSAGE);
+
+        System.out.printf("%n%s: simple %d bytes, detailed %d bytes%n", serialization,
+                serializeSimpleResponse().length, serializeDetailedResponse().length);
+    }
+
+    @Benchmark
+    public byte[] serializeSimpleResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(simpleResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeDetailedResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(detailedResponse);
+    }
+}
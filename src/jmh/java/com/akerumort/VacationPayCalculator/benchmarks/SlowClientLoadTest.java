@@ -0,0 +1,151 @@
+package com.akerumort.VacationPayCalculator.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Load test of a running server under many slow client connections.
+ * <p>
+ * The slow clients send the headers of a {@code POST /calculate} request and then trickle its body one byte
+ * per second, so every one of them holds a request thread that is blocked reading the body. Meanwhile regular
+ * requests are sent one after another and their latency is reported. With the platform thread pool the slow
+ * clients exhaust the pool and the regular requests wait or time out; with virtual threads they do not.
+ * <p>
+ * Arguments: base URL (default {@code http://localhost:8080}), number of slow clients (default 1000),
+ * number of regular requests (default 200).
+ */
+public final class SlowClientLoadTest {
+
+    private static final String BODY = "{\"averageSalary\":80000.00,\"vacationDays\":14}";
+    private static final int SLOW_BODY_LENGTH = 1_000_000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private SlowClientLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI baseUri = URI.create(args.length > 0 ? args[0] : "http://localhost:8080");
+        int slowClients = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        List<Socket> sockets = openSlowClients(baseUri, slowClients);
+        Thread trickler = startTrickling(sockets);
+        Thread.sleep(2000);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/calculate"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(BODY))
+                .build();
+
+        long[] latencies = new long[requests];
+        int completed = 0;
+        int failed = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            long requestStarted = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    latencies[completed++] = System.nanoTime() - requestStarted;
+                } else {
+                    failed++;
+                }
+            } catch (IOException ex) {
+                failed++;
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+
+        trickler.interrupt();
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+
+        long[] sorted = Arrays.copyOf(latencies, completed);
+        Arrays.sort(sorted);
+        System.out.printf("slow clients: %d connected of %d%n", sockets.size(), slowClients);
+        System.out.printf("requests: %d completed, %d failed or timed out, %.1f s total%n",
+                completed, failed, elapsed / 1e9);
+        if (completed > 0) {
+            System.out.printf("latency ms: p50 %.1f, p99 %.1f, max %.1f%n",
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), sorted[completed - 1] / 1e6);
+        }
+    }
+
+    /**
+     * Opens the slow connections and sends the request headers and the first byte of the body.
+     * The declared body is long enough that it never completes during the test.
+     *
+     * @param baseUri Server address
+     * @param count Number of connections
+     * @return Open connections; fewer than requested if the server stops accepting
+     */
+    private static List<Socket> openSlowClients(URI baseUri, int count) {
+        String head = "POST /calculate HTTP/1.1\r\n"
+                + "Host: " + baseUri.getHost() + "\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Content-Length: " + SLOW_BODY_LENGTH + "\r\n\r\n"
+                + "{";
+        byte[] headBytes = head.getBytes(StandardCharsets.US_ASCII);
+
+        List<Socket> sockets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            try {
+                Socket socket = new Socket(baseUri.getHost(), baseUri.getPort());
+                socket.getOutputStream().write(headBytes);
+                sockets.add(socket);
+            } catch (IOException ex) {
+                System.out.printf("slow client %d could not connect: %s%n", i, ex.getMessage());
+                break;
+            }
+        }
+        return sockets;
+    }
+
+    /**
+     * Sends one more whitespace byte on every slow connection each second, which keeps the body incomplete
+     * without letting the server time the connection out.
+     *
+     * @param sockets Slow connections
+     * @return Started daemon thread
+     */
+    private static Thread startTrickling(List<Socket> sockets) {
+        Thread thread = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                for (Socket socket : sockets) {
+                    try {
+                        OutputStream output = socket.getOutputStream();
+                        output.write(' ');
+                        output.flush();
+                    } catch (IOException ignored) {
+                        // The server closed the connection; the others keep trickling.
+                    }
+                }
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        }, "slow-client-trickler");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+    }
+}
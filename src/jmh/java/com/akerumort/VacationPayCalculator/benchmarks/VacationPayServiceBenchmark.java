@@ -0,0 +1,142 @@
+package com.akerumort.VacationPayCalculator.benchmarks;
+
+import com.akerumort.VacationPayCalculator.dto.VacationPeriodDto;
+import com.akerumort.VacationPayCalculator.mappers.VacationPayMapperImpl;
+import com.akerumort.VacationPayCalculator.metrics.VacationPayMetrics;
+import com.akerumort.VacationPayCalculator.services.AuditJournal;
+import com.akerumort.VacationPayCalculator.services.BigDecimalMoneyEngine;
+import com.akerumort.VacationPayCalculator.services.FixedPointMoneyEngine;
+import com.akerumort.VacationPayCalculator.services.HolidayCalendar;
+import com.akerumort.VacationPayCalculator.services.VacationPayResultCache;
+import com.akerumort.VacationPayCalculator.services.VacationPayService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot path of the vacation pay calculation: the request modes, including a vacation split into unordered dates
+ * or periods, holiday lookup and money arithmetic.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VacationPayServiceBenchmark {
+
+    private static final BigDecimal WORK_DAYS_IN_MONTH = new BigDecimal("29.3");
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.13");
+
+    private VacationPayService vacationPayService;
+    private HolidayCalendar holidayCalendar;
+    private FixedPointMoneyEngine fixedPointMoneyEngine;
+
+    private BigDecimal averageSalary;
+    private LocalDate vacationStartDate;
+    private LocalDate vacationEndDate;
+    private List<LocalDate> vacationDates;
+    private List<LocalDate> splitVacationDates;
+    private List<VacationPeriodDto> vacationPeriods;
+    private LocalDate longVacationEndDate;
+
+    @Setup
+    public void setUp() {
+        holidayCalendar = new HolidayCalendar();
+        vacationPayService = new VacationPayService(new VacationPayMapperImpl(), holidayCalendar,
+                new BigDecimalMoneyEngine(), new VacationPayMetrics(new SimpleMeterRegistry()),
+                new VacationPayResultCache(false, 0, Duration.ZERO, new SimpleMeterRegistry()),
+                new AuditJournal(false, "", DataSize.ofMegabytes(1), Duration.ZERO, 0, 0, new SimpleMeterRegistry()));
+        fixedPointMoneyEngine = new FixedPointMoneyEngine();
+
+        averageSalary = new BigDecimal("80000.00");
+        vacationStartDate = LocalDate.of(2024, 4, 29);
+        vacationEndDate = vacationStartDate.plusDays(27);
+        vacationDates = vacationStartDate.datesUntil(vacationEndDate.plusDays(1)).toList();
+        splitVacationDates = new ArrayList<>(vacationDates.subList(14, 28));
+        splitVacationDates.addAll(vacationDates.subList(0, 7));
+        LocalDate secondPartStart = vacationStartDate.plusMonths(3);
+        splitVacationDates.addAll(secondPartStart.datesUntil(secondPartStart.plusDays(7)).toList());
+        vacationPeriods = List.of(new VacationPeriodDto(vacationStartDate.plusDays(14), vacationEndDate),
+                new VacationPeriodDto(vacationStartDate, vacationStartDate.plusDays(6)),
+                new VacationPeriodDto(secondPartStart, secondPartStart.plusDays(6)));
+        longVacationEndDate = vacationStartDate.plusYears(3).minusDays(1);
+    }
+
+    @Benchmark
+    public Object simpleMode() {
+        return vacationPayService.calculateVacationPay(averageSalary, 28, null, null, null);
+    }
+
+    @Benchmark
+    public Object dateListMode() {
+        return vacationPayService.calculateVacationPay(averageSalary, 28, vacationDates, null, null);
+    }
+
+    @Benchmark
+    public Object splitDateListMode() {
+        return vacationPayService.calculateVacationPay(averageSalary, 28, splitVacationDates, null, null);
+    }
+
+    @Benchmark
+    public Object periodsMode() {
+        return vacationPayService.evaluate(averageSalary, 28, null, null, null, vacationPeriods, null);
+    }
+
+    @Benchmark
+    public Object rangeMode() {
+        return vacationPayService.calculateVacationPay(averageSalary, 28, null,
+                vacationStartDate, vacationEndDate);
+    }
+
+    @Benchmark
+    public int holidayLookup() {
+        int count = 0;
+        for (LocalDate date : vacationDates) {
+            if (holidayCalendar.isHolidayOrWeekend(date)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int holidayRangeCount() {
+        return holidayCalendar.countHolidaysAndWeekends(vacationStartDate, longVacationEndDate);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalArithmetic() {
+        BigDecimal grossVacationPay = averageSalary.divide(WORK_DAYS_IN_MONTH, 2, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(20));
+        BigDecimal taxAmount = grossVacationPay.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+        return grossVacationPay.subtract(taxAmount);
+    }
+
+    @Benchmark
+    public BigDecimal fixedPointArithmetic() {
+        return fixedPointMoneyEngine.calculateNetVacationPay(averageSalary, 20);
+    }
+
+    @Benchmark
+    public long fixedPointKopecksArithmetic() {
+        return FixedPointMoneyEngine.netVacationPayKopecks(FixedPointMoneyEngine.dailyRateKopecks(8_000_000L, 2), 20);
+    }
+}
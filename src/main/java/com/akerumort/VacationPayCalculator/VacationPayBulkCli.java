@@ -0,0 +1,43 @@
+package com.akerumort.VacationPayCalculator;
+
+import com.akerumort.VacationPayCalculator.services.VacationPayBulkService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command line entry point for bulk calculation of a file:
+ * {@code VacationPayBulkCli <input.ndjson|input.csv> <output>}. The format is taken from the input file extension.
+ */
+public class VacationPayBulkCli {
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: VacationPayBulkCli <input.ndjson|input.csv> <output>");
+			System.exit(2);
+		}
+
+		Path input = Path.of(args[0]);
+		Path output = Path.of(args[1]);
+		VacationPayBulkService.Format format = input.getFileName().toString().toLowerCase().endsWith(".csv")
+				? VacationPayBulkService.Format.CSV
+				: VacationPayBulkService.Format.NDJSON;
+
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(VacationPayCalculatorApplication.class)
+				.web(WebApplicationType.NONE)
+				.run();
+			 InputStream in = new BufferedInputStream(Files.newInputStream(input));
+			 OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+			context.getBean(VacationPayBulkService.class).calculateBulk(in, out, format);
+		}
+	}
+
+}
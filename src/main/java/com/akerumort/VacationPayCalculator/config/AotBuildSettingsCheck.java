@@ -0,0 +1,133 @@
+package com.akerumort.VacationPayCalculator.config;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Keeps an AOT-processed jar from running with settings other than those it was built with. AOT processing
+ * evaluates the bean conditions once, at build time, so the active profiles and the properties that switch beans
+ * on or off are fixed by the build and changing them at runtime would be silently ignored. The processing records
+ * their values in {@value #RESOURCE}; an application started with {@code spring.aot.enabled=true} refuses to start
+ * when its own values differ.
+ */
+public class AotBuildSettingsCheck implements BeanFactoryInitializationAotProcessor, EnvironmentPostProcessor,
+        Ordered {
+
+    static final String RESOURCE = "META-INF/vacation-pay/aot-build-settings.properties";
+    static final String ACTIVE_PROFILES = "spring.profiles.active";
+
+    /**
+     * Properties read by the bean conditions of the application and of the auto-configurations it relies on.
+     */
+    static final List<String> CONDITION_PROPERTIES = List.of(
+            "spring.main.web-application-type",
+            "spring.threads.virtual.enabled",
+            "vacation-pay.money-engine",
+            "vacation-pay.admission.enabled",
+            "vacation-pay.compression.request-decompression",
+            "server.compression.enabled");
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        Properties settings = record(beanFactory.getBean(Environment.class));
+        StringBuilder content = new StringBuilder("# Settings the AOT bean definitions were generated with\n");
+        settings.stringPropertyNames().stream().sorted().forEach(key ->
+                content.append(key).append('=').append(settings.getProperty(key)).append('\n'));
+        return (generationContext, code) ->
+                generationContext.getGeneratedFiles().addResourceFile(RESOURCE, content.toString());
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        ClassPathResource resource = new ClassPathResource(RESOURCE, application.getClassLoader());
+        if (!resource.exists()) {
+            return;
+        }
+
+        Properties built = new Properties();
+        try (InputStream input = resource.getInputStream()) {
+            built.load(input);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read " + RESOURCE, ex);
+        }
+        List<String> differences = differences(built, environment);
+        if (!differences.isEmpty()) {
+            throw new IllegalStateException("The AOT bean definitions were generated with other settings: "
+                    + String.join(", ", differences) + ". Rebuild with these settings or start without "
+                    + "-Dspring.aot.enabled=true");
+        }
+    }
+
+    /**
+     * Runs after the configuration files have been loaded and the profiles activated.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    /**
+     * Returns the active profiles and the condition properties that are set.
+     *
+     * @param environment Environment of the application
+     * @return Settings that decide the bean conditions
+     */
+    static Properties record(Environment environment) {
+        Properties settings = new Properties();
+        settings.setProperty(ACTIVE_PROFILES, String.join(",", environment.getActiveProfiles()));
+        for (String key : CONDITION_PROPERTIES) {
+            String value = environment.getProperty(key);
+            if (value != null) {
+                settings.setProperty(key, value);
+            }
+        }
+        return settings;
+    }
+
+    /**
+     * Compares the settings of the build with those of the environment.
+     *
+     * @param built Settings recorded at build time
+     * @param environment Environment of the application
+     * @return One description per setting that differs, empty if none does
+     */
+    static List<String> differences(Properties built, Environment environment) {
+        Properties current = record(environment);
+        List<String> differences = new ArrayList<>();
+        for (String key : built.stringPropertyNames().stream().sorted().toList()) {
+            compare(key, built.getProperty(key), current.getProperty(key), differences);
+        }
+        for (String key : current.stringPropertyNames().stream().sorted().toList()) {
+            if (!built.containsKey(key)) {
+                compare(key, null, current.getProperty(key), differences);
+            }
+        }
+        return differences;
+    }
+
+    private static void compare(String key, String built, String current, List<String> differences) {
+        if (!Objects.equals(built, current)) {
+            differences.add(key + " was " + (built == null ? "not set" : "'" + built + "'") + " and is "
+                    + (current == null ? "not set" : "'" + current + "'"));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.akerumort.VacationPayCalculator.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the API for service-to-service calls: a client sends {@code Content-Type} and
+ * {@code Accept} of {@code application/cbor} or {@code application/x-jackson-smile} instead of JSON. The
+ * converters take the places of the default CBOR and Smile converters, after the JSON converter, so JSON stays
+ * the encoding of a request without an {@code Accept} header. The values are encoded by
+ * {@link BinaryFormatModule}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BinaryContentConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(configure(new CBORMapper()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(configure(new SmileMapper()));
+    }
+
+    /**
+     * Configures a binary mapper like the application {@code ObjectMapper}, with the values of
+     * {@link BinaryFormatModule} taking precedence over the Java time ones.
+     */
+    public static <T extends ObjectMapper> T configure(T mapper) {
+        mapper.registerModule(new JavaTimeModule())
+                .registerModule(new BinaryFormatModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+}
@@ -0,0 +1,58 @@
+package com.akerumort.VacationPayCalculator.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Jackson types of the binary encodings (CBOR, Smile) of the API. A date is its epoch day, so it takes a few bytes
+ * and decodes without parsing text. Reading also accepts ISO dates, as a client may send them.
+ * <p>
+ * Amounts of money keep the default encoding of decimals, which is binary too: a CBOR decimal fraction (tag 4,
+ * exponent and integer mantissa) or a Smile big decimal. An integer amount is whole rubles, as in JSON. The module
+ * is not a bean, as Spring Boot would register it with the JSON {@code ObjectMapper} too.
+ */
+public class BinaryFormatModule extends SimpleModule {
+
+    public BinaryFormatModule() {
+        super("BinaryFormatModule");
+        addSerializer(LocalDate.class, new EpochDaySerializer());
+        addDeserializer(LocalDate.class, new EpochDayDeserializer());
+    }
+
+    private static final class EpochDaySerializer extends StdScalarSerializer<LocalDate> {
+
+        EpochDaySerializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public void serialize(LocalDate date, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeNumber(date.toEpochDay());
+        }
+    }
+
+    private static final class EpochDayDeserializer extends StdScalarDeserializer<LocalDate> {
+
+        EpochDayDeserializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public LocalDate deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return switch (parser.currentToken()) {
+                case VALUE_NUMBER_INT -> LocalDate.ofEpochDay(parser.getLongValue());
+                case VALUE_STRING -> LocalDate.parse(parser.getText().trim());
+                default -> (LocalDate) context.handleUnexpectedToken(LocalDate.class, parser);
+            };
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.akerumort.VacationPayCalculator.config;
+
+import com.akerumort.VacationPayCalculator.dto.DetailedVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.SimpleVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Jackson serializers for the calculation responses. Field names and the tax message are encoded once, so a
+ * response is written without bean introspection or per-call string escaping. The output is the same as the
+ * default bean serialization unless compact mode is enabled, which leaves out the constant tax message.
+ * Spring Boot registers the module with the application {@code ObjectMapper}.
+ */
+@Component
+public class VacationPayResponseModule extends SimpleModule {
+
+    private static final SerializableString VACATION_PAY = new SerializedString("vacationPay");
+    private static final SerializableString WEEKENDS_AND_HOLIDAYS = new SerializedString("weekendsAndHolidays");
+    private static final SerializableString PAID_VACATION_DAYS = new SerializedString("paidVacationDays");
+    private static final SerializableString PERIODS = new SerializedString("periods");
+    private static final SerializableString MESSAGE = new SerializedString("message");
+    private static final SerializableString TAX_MESSAGE = new SerializedString(VacationPayResponse.TAX_MESSAGE);
+
+    /**
+     * @param compact Whether to leave out the tax message when it is the standard one
+     */
+    public VacationPayResponseModule(@Value("${vacation-pay.response.compact:false}") boolean compact) {
+        super("VacationPayResponseModule");
+        addSerializer(SimpleVacationPayResponseDto.class, new SimpleResponseSerializer(compact));
+        addSerializer(DetailedVacationPayResponseDto.class, new DetailedResponseSerializer(compact));
+    }
+
+    private static void writeVacationPay(JsonGenerator generator, BigDecimal vacationPay) throws IOException {
+        generator.writeFieldName(VACATION_PAY);
+        if (vacationPay == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(vacationPay);
+        }
+    }
+
+    private static void writeInteger(JsonGenerator generator, SerializableString name, Integer value)
+            throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeMessage(JsonGenerator generator, String message, boolean compact) throws IOException {
+        boolean standard = VacationPayResponse.TAX_MESSAGE.equals(message);
+        if (compact && standard) {
+            return;
+        }
+
+        generator.writeFieldName(MESSAGE);
+        if (standard) {
+            generator.writeString(TAX_MESSAGE);
+        } else if (message == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(message);
+        }
+    }
+
+    private static final class SimpleResponseSerializer extends StdSerializer<SimpleVacationPayResponseDto> {
+
+        private final boolean compact;
+
+        SimpleResponseSerializer(boolean compact) {
+            super(SimpleVacationPayResponseDto.class);
+            this.compact = compact;
+        }
+
+        @Override
+        public void serialize(SimpleVacationPayResponseDto response, JsonGenerator generator,
+                              SerializerProvider provider) throws IOException {
+            generator.writeStartObject(response);
+            writeVacationPay(generator, response.getVacationPay());
+            writeMessage(generator, response.getMessage(), compact);
+            generator.writeEndObject();
+        }
+    }
+
+    private static final class DetailedResponseSerializer extends StdSerializer<DetailedVacationPayResponseDto> {
+
+        private final boolean compact;
+
+        DetailedResponseSerializer(boolean compact) {
+            super(DetailedVacationPayResponseDto.class);
+            this.compact = compact;
+        }
+
+        @Override
+        public void serialize(DetailedVacationPayResponseDto response, JsonGenerator generator,
+                              SerializerProvider provider) throws IOException {
+            generator.writeStartObject(response);
+            writeVacationPay(generator, response.getVacationPay());
+            writeInteger(generator, WEEKENDS_AND_HOLIDAYS, response.getWeekendsAndHolidays());
+            writeInteger(generator, PAID_VACATION_DAYS, response.getPaidVacationDays());
+            if (response.getPeriods() != null) {
+                generator.writeFieldName(PERIODS);
+                provider.defaultSerializeValue(response.getPeriods(), generator);
+            }
+            writeMessage(generator, response.getMessage(), compact);
+            generator.writeEndObject();
+        }
+    }
+}
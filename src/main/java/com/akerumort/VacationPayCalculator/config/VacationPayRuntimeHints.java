@@ -0,0 +1,60 @@
+package com.akerumort.VacationPayCalculator.config;
+
+import com.akerumort.VacationPayCalculator.dto.AverageSalaryOrEmployeeId;
+import com.akerumort.VacationPayCalculator.dto.DetailedVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.EarningsHistoryResponseDto;
+import com.akerumort.VacationPayCalculator.dto.EarningsMonthRequestDto;
+import com.akerumort.VacationPayCalculator.dto.SimpleVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayBatchItemResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayForecastRequestDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayForecastResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayJobDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayRequestDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPeriodDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPeriodPayDto;
+import com.akerumort.VacationPayCalculator.mappers.VacationPayMapperImpl;
+import com.akerumort.VacationPayCalculator.services.CalendarYear;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection hints for AOT-processed and native builds ({@code native} Maven profile). The response DTOs are
+ * returned behind {@code ResponseEntity<Object>} and the batch, CSV and calendar types are bound by hand, so
+ * AOT processing cannot infer them from the controller signatures.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(VacationPayRuntimeHints.Registrar.class)
+public class VacationPayRuntimeHints {
+
+    static final String CSV_RESULT_ROW =
+            "com.akerumort.VacationPayCalculator.services.VacationPayBulkService$CsvResultRow";
+
+    static class Registrar implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    VacationPayRequestDto.class, VacationPeriodDto.class,
+                    SimpleVacationPayResponseDto.class, DetailedVacationPayResponseDto.class,
+                    VacationPeriodPayDto.class, VacationPayBatchItemResponseDto.class,
+                    VacationPayForecastRequestDto.class, VacationPayForecastResponseDto.class,
+                    VacationPayJobDto.class, EarningsMonthRequestDto.class, EarningsHistoryResponseDto.class,
+                    CalendarYear.class);
+
+            hints.reflection().registerType(TypeReference.of(CSV_RESULT_ROW),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+            hints.reflection().registerType(AverageSalaryOrEmployeeId.Validator.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.reflection().registerType(VacationPayMapperImpl.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            hints.resources().registerPattern("log4j2.xml");
+        }
+    }
+}
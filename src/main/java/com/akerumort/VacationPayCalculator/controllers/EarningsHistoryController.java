@@ -0,0 +1,72 @@
+package com.akerumort.VacationPayCalculator.controllers;
+
+import com.akerumort.VacationPayCalculator.dto.EarningsHistoryResponseDto;
+import com.akerumort.VacationPayCalculator.dto.EarningsMonthRequestDto;
+import com.akerumort.VacationPayCalculator.exceptions.CustomValidationException;
+import com.akerumort.VacationPayCalculator.services.EarningsHistoryStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/earnings")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class EarningsHistoryController {
+
+    private final EarningsHistoryStore earningsHistoryStore;
+
+    @Operation(
+            summary = "Record the earnings of an employee in a month",
+            description = "Adds a month to the employee's earnings history, or corrects a month of the last 12. " +
+                    "A calculation request with the employee id and without an average salary then uses the " +
+                    "average salary of the last 12 months.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Month recorded",
+                            content = @Content(schema = @Schema(implementation = EarningsHistoryResponseDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid month, or a month before the last 12")
+            }
+    )
+    @PostMapping
+    public ResponseEntity<Object> recordMonth(@Valid @RequestBody
+                                              @Parameter(description = "Earnings of an employee in one month")
+                                              EarningsMonthRequestDto requestDto) {
+        Optional<BigDecimal> averageSalary;
+        try {
+            averageSalary = earningsHistoryStore.record(requestDto.getEmployeeId(), requestDto.getMonth(),
+                    requestDto.getEarnings(), requestDto.getExcludedDays());
+        } catch (CustomValidationException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+        return ResponseEntity.ok(new EarningsHistoryResponseDto(requestDto.getEmployeeId(),
+                earningsHistoryStore.getRecordedMonths(requestDto.getEmployeeId()), averageSalary.orElse(null)));
+    }
+
+    @Operation(
+            summary = "Get the average salary of an employee",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Average salary of the last 12 months",
+                            content = @Content(schema = @Schema(implementation = EarningsHistoryResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Unknown employee")
+            }
+    )
+    @GetMapping("/{employeeId}")
+    public ResponseEntity<EarningsHistoryResponseDto> getAverageSalary(@PathVariable String employeeId) {
+        int recordedMonths = earningsHistoryStore.getRecordedMonths(employeeId);
+        if (recordedMonths == 0) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(new EarningsHistoryResponseDto(employeeId, recordedMonths,
+                earningsHistoryStore.getAverageSalary(employeeId).orElse(null)));
+    }
+}
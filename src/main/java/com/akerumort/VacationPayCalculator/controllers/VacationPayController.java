@@ -1,25 +1,50 @@
 package com.akerumort.VacationPayCalculator.controllers;
 
+import com.akerumort.VacationPayCalculator.dto.DetailedVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.SimpleVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayBatchItemResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayForecastRequestDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayForecastResponseDto;
 import com.akerumort.VacationPayCalculator.dto.VacationPayRequestDto;
 import com.akerumort.VacationPayCalculator.exceptions.CustomValidationException;
+import com.akerumort.VacationPayCalculator.metrics.VacationPayMetrics;
+import com.akerumort.VacationPayCalculator.services.EarningsHistoryStore;
+import com.akerumort.VacationPayCalculator.services.VacationPayBatchService;
+import com.akerumort.VacationPayCalculator.services.VacationPayBulkService;
+import com.akerumort.VacationPayCalculator.services.VacationPayForecastService;
+import com.akerumort.VacationPayCalculator.services.VacationPayResult;
 import com.akerumort.VacationPayCalculator.services.VacationPayService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.media.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 @RestController
 @RequestMapping("/calculate")
 @RequiredArgsConstructor
 @Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class VacationPayController {
 
     private final VacationPayService vacationPayService;
+    private final VacationPayBatchService vacationPayBatchService;
+    private final VacationPayBulkService vacationPayBulkService;
+    private final VacationPayForecastService vacationPayForecastService;
+    private final VacationPayMetrics vacationPayMetrics;
+    private final EarningsHistoryStore earningsHistoryStore;
 
     @Operation(
             summary = "Calculate vacation pay with personal income tax",
@@ -28,7 +53,8 @@ public class VacationPayController {
             responses = {
                     @ApiResponse(responseCode = "200", description = "Successfully calculated vacation pay",
                             content = @Content(
-                                    schema = @Schema(implementation = Object.class)
+                                    schema = @Schema(oneOf = {SimpleVacationPayResponseDto.class,
+                                            DetailedVacationPayResponseDto.class})
                             )),
                     @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
                     @ApiResponse(responseCode = "500", description = "Unexpected server error")
@@ -39,20 +65,98 @@ public class VacationPayController {
                                                            @Parameter(description =
                                                                    "Request payload for calculating vacation pay")
                                                            VacationPayRequestDto requestDto) {
+        long start = System.nanoTime();
         try {
-            Object response = vacationPayService.calculateVacationPay(
-                    requestDto.getAverageSalary(),
+            VacationPayResult result = vacationPayService.evaluate(
+                    earningsHistoryStore.resolveAverageSalary(requestDto.getAverageSalary(),
+                            requestDto.getEmployeeId()),
                     requestDto.getVacationDays(),
                     requestDto.getVacationDates(),
                     requestDto.getVacationStartDate(),
-                    requestDto.getVacationEndDate()
+                    requestDto.getVacationEndDate(),
+                    requestDto.getVacationPeriods(),
+                    requestDto.getEmployeeId()
             );
 
-            return ResponseEntity.ok(response);
+            if (result.isRejected()) {
+                vacationPayMetrics.recordValidationError();
+                return ResponseEntity.badRequest().body(result.error().getMessage());
+            }
+            vacationPayMetrics.recordResult(result.response());
+            return ResponseEntity.ok(result.response());
         } catch (CustomValidationException ex) {
+            vacationPayMetrics.recordValidationError();
             return ResponseEntity.badRequest().body(ex.getMessage());
         } catch (Exception ex) {
+            vacationPayMetrics.recordServerError();
             return ResponseEntity.status(500).body("Unexpected error: " + ex.getMessage());
+        } finally {
+            vacationPayMetrics.getRequestTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Operation(
+            summary = "Calculate vacation pay for a batch of requests",
+            description = "Calculates vacation pay for every request of the batch. Results are returned in the " +
+                    "order of the requests; an invalid item is reported with its errors and does not fail the batch.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch processed",
+                            content = @Content(
+                                    array = @ArraySchema(
+                                            schema = @Schema(implementation = VacationPayBatchItemResponseDto.class))
+                            )),
+                    @ApiResponse(responseCode = "400", description = "Malformed batch payload")
+            }
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<List<VacationPayBatchItemResponseDto>> calculateVacationPayBatch(
+            @RequestBody @Parameter(description = "Batch of vacation pay requests")
+            List<VacationPayRequestDto> requests) {
+        return ResponseEntity.ok(vacationPayBatchService.calculateBatch(requests));
+    }
+
+    @Operation(
+            summary = "Calculate vacation pay for a stream of requests",
+            description = "Reads newline-delimited JSON or CSV requests (with a header row, list values separated " +
+                    "by ';') and streams back one result row per request in the same format. Rows are processed " +
+                    "one at a time, so arbitrarily large inputs are handled with constant memory. A row longer " +
+                    "than the maximum row length ends the stream with an error row for it.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Stream processed"),
+                    @ApiResponse(responseCode = "415", description = "Unsupported stream format")
+            }
+    )
+    @PostMapping(value = "/stream", consumes = {"application/x-ndjson", "text/csv"})
+    public void calculateVacationPayStream(HttpServletRequest request,
+                                           HttpServletResponse response) throws IOException {
+        VacationPayBulkService.Format format = VacationPayBulkService.Format.of(request.getContentType());
+
+        response.setContentType(format.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try {
+            vacationPayBulkService.calculateBulk(request.getInputStream(), response.getOutputStream(), format);
+        } catch (VacationPayBulkService.RowTooLongException ex) {
+            // The last result row already reports it, and the status of a streamed response cannot change
         }
     }
+
+    @Operation(
+            summary = "Forecast vacation pay for every start date of a year",
+            description = "Returns the paid vacation days for every start date of the year and every vacation " +
+                    "length up to the maximum, and the vacation pay for every number of paid days. The vacation " +
+                    "pay of a start date and length is the amount for its paid days.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Forecast calculated",
+                            content = @Content(
+                                    schema = @Schema(implementation = VacationPayForecastResponseDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid request parameters")
+            }
+    )
+    @PostMapping("/forecast")
+    public ResponseEntity<VacationPayForecastResponseDto> forecastVacationPay(
+            @Valid @RequestBody @Parameter(description = "Request payload for a vacation pay forecast")
+            VacationPayForecastRequestDto requestDto) {
+        return ResponseEntity.ok(vacationPayForecastService.forecast(requestDto.getAverageSalary(),
+                requestDto.getYear(), requestDto.getMaxLength()));
+    }
 }
@@ -0,0 +1,105 @@
+package com.akerumort.VacationPayCalculator.controllers;
+
+import com.akerumort.VacationPayCalculator.dto.VacationPayJobDto;
+import com.akerumort.VacationPayCalculator.services.VacationPayBulkService;
+import com.akerumort.VacationPayCalculator.services.VacationPayJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/jobs")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class VacationPayJobController {
+
+    private final VacationPayJobService vacationPayJobService;
+
+    @Operation(
+            summary = "Submit a bulk calculation job",
+            description = "Spools newline-delimited JSON or CSV requests (the format of POST /calculate/stream) to " +
+                    "disk and calculates them in the background. Poll the returned job for progress and download " +
+                    "the results when it is completed.",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Job accepted",
+                            content = @Content(schema = @Schema(implementation = VacationPayJobDto.class))),
+                    @ApiResponse(responseCode = "413", description = "Input larger than the maximum input size"),
+                    @ApiResponse(responseCode = "415", description = "Unsupported input format"),
+                    @ApiResponse(responseCode = "503", description = "Too many jobs are waiting")
+            }
+    )
+    @PostMapping(consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<Object> submitJob(HttpServletRequest request) throws IOException {
+        VacationPayJobDto job;
+        try {
+            job = vacationPayJobService.submit(request.getInputStream(),
+                    VacationPayBulkService.Format.of(request.getContentType()));
+        } catch (RejectedExecutionException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "60")
+                    .body(Map.of("error", ex.getMessage()));
+        } catch (VacationPayJobService.InputTooLargeException ex) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("error", ex.getMessage()));
+        }
+        return ResponseEntity.accepted().location(URI.create("/jobs/" + job.getId())).body(job);
+    }
+
+    @Operation(
+            summary = "Get the status of a bulk calculation job",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Job status",
+                            content = @Content(schema = @Schema(implementation = VacationPayJobDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Unknown job")
+            }
+    )
+    @GetMapping("/{id}")
+    public ResponseEntity<VacationPayJobDto> getJob(@PathVariable String id) {
+        return ResponseEntity.of(vacationPayJobService.getJob(id));
+    }
+
+    @Operation(
+            summary = "Download the results of a bulk calculation job",
+            description = "Returns one result row per request row in the format of the input, as POST " +
+                    "/calculate/stream does.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Result rows"),
+                    @ApiResponse(responseCode = "404", description = "Unknown job"),
+                    @ApiResponse(responseCode = "409", description = "Job is not completed",
+                            content = @Content(schema = @Schema(implementation = VacationPayJobDto.class)))
+            }
+    )
+    @GetMapping("/{id}/result")
+    public ResponseEntity<Object> getJobResult(@PathVariable String id) {
+        Optional<VacationPayJobDto> job = vacationPayJobService.getJob(id);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Optional<Path> result = vacationPayJobService.getResult(id);
+        if (result.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(job.get());
+        }
+        Resource resource = new FileSystemResource(result.get());
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(job.get().getFormat() + ";charset=UTF-8"))
+                .body(resource);
+    }
+}
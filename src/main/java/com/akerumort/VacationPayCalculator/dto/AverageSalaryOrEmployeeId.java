@@ -0,0 +1,43 @@
+package com.akerumort.VacationPayCalculator.dto;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requires a vacation pay request to give the average salary or the id of an employee to take it from. The
+ * violation is reported on the {@code averageSalary} field, like a missing salary was before employee ids.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = AverageSalaryOrEmployeeId.Validator.class)
+public @interface AverageSalaryOrEmployeeId {
+
+    String message() default "Average salary cannot be null";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    class Validator implements ConstraintValidator<AverageSalaryOrEmployeeId, VacationPayRequestDto> {
+
+        @Override
+        public boolean isValid(VacationPayRequestDto request, ConstraintValidatorContext context) {
+            if (request == null || request.getAverageSalary() != null
+                    || (request.getEmployeeId() != null && !request.getEmployeeId().isBlank())) {
+                return true;
+            }
+            context.disableDefaultConstraintViolation();
+            context.buildConstraintViolationWithTemplate(context.getDefaultConstraintMessageTemplate())
+                    .addPropertyNode("averageSalary")
+                    .addConstraintViolation();
+            return false;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.akerumort.VacationPayCalculator.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.DecimalMin;
 import lombok.AllArgsConstructor;
@@ -8,13 +9,14 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(description = "Response DTO for detailed vacation pay calculation including weekends and holidays")
-public class DetailedVacationPayResponseDto {
+public final class DetailedVacationPayResponseDto implements VacationPayResponse {
 
     @Schema(description = "The calculated vacation pay", example = "1500.00")
     @DecimalMin(value = "0.0", inclusive = false, message = "Vacation pay must be greater than zero")
@@ -26,7 +28,16 @@ public class DetailedVacationPayResponseDto {
     @Schema(description = "The number of paid vacation days excluding weekends and public holidays", example = "20")
     private Integer paidVacationDays;
 
+    @Schema(description = "Breakdown by period, present when the vacation was given as several periods")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<VacationPeriodPayDto> periods;
+
     @Schema(description = "Message indicating that the amount is after tax deduction",
             example = "Amount is calculated after deducting 13% tax.")
-    private String message = "Amount is calculated after deducting 13% tax.";
+    private String message = TAX_MESSAGE;
+
+    public DetailedVacationPayResponseDto(BigDecimal vacationPay, Integer weekendsAndHolidays,
+                                          Integer paidVacationDays, String message) {
+        this(vacationPay, weekendsAndHolidays, paidVacationDays, null, message);
+    }
 }
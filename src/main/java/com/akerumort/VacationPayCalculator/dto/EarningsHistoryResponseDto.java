@@ -0,0 +1,27 @@
+package com.akerumort.VacationPayCalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Average salary of an employee from the earnings history")
+public class EarningsHistoryResponseDto {
+
+    @Schema(description = "Id of the employee", example = "E-1042")
+    private String employeeId;
+
+    @Schema(description = "Number of months with earnings in the 12 months ending with the latest one", example = "12")
+    private int recordedMonths;
+
+    @Schema(description = "Average monthly salary used for calculations, or null if no day was worked",
+            example = "84350.75")
+    private BigDecimal averageSalary;
+}
@@ -0,0 +1,44 @@
+package com.akerumort.VacationPayCalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Earnings of an employee in one month, for the earnings history")
+public class EarningsMonthRequestDto {
+
+    @Schema(description = "Id of the employee", example = "E-1042")
+    @NotBlank(message = "Employee id cannot be blank")
+    @Size(max = 64, message = "Employee id must be at most 64 characters")
+    private String employeeId;
+
+    @Schema(description = "Month of the earnings", type = "string", example = "2024-05")
+    @NotNull(message = "Month cannot be null")
+    private YearMonth month;
+
+    @Schema(description = "Earnings of the worked days of the month, without payments for excluded periods",
+            example = "84350.75")
+    @NotNull(message = "Earnings cannot be null")
+    @DecimalMin(value = "0.0", message = "Earnings cannot be negative")
+    @Digits(integer = 15, fraction = 2, message = "Earnings must have at most two fraction digits")
+    private BigDecimal earnings;
+
+    @Schema(description = "Calendar days of the month in excluded periods, such as sick leave", example = "0")
+    @Min(value = 0, message = "Excluded days cannot be negative")
+    private int excludedDays;
+}
@@ -14,7 +14,7 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(description = "Response DTO for simple vacation pay calculation")
-public class SimpleVacationPayResponseDto {
+public final class SimpleVacationPayResponseDto implements VacationPayResponse {
 
     @Schema(description = "The calculated vacation pay", example = "1000.00")
     @DecimalMin(value = "0.0", inclusive = false, message = "Vacation pay must be greater than zero")
@@ -22,5 +22,5 @@ public class SimpleVacationPayResponseDto {
 
     @Schema(description = "Message indicating that the amount is after tax deduction",
             example = "Amount is calculated after deducting 13% tax.")
-    private String message = "Amount is calculated after deducting 13% tax.";
+    private String message = TAX_MESSAGE;
 }
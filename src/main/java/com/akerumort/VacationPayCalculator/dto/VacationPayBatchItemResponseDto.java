@@ -0,0 +1,30 @@
+package com.akerumort.VacationPayCalculator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Result of a single item of a batch vacation pay calculation")
+public class VacationPayBatchItemResponseDto {
+
+    @Schema(description = "Position of the item in the batch request", example = "0")
+    private long index;
+
+    @Schema(description = "Calculated vacation pay, present when the item was calculated successfully",
+            oneOf = {SimpleVacationPayResponseDto.class, DetailedVacationPayResponseDto.class})
+    private VacationPayResponse result;
+
+    @Schema(description = "Validation errors, present when the item could not be calculated",
+            example = "{\"error\": \"The vacation days don't match the number of dates shown.\"}")
+    private Map<String, String> errors;
+}
@@ -0,0 +1,38 @@
+package com.akerumort.VacationPayCalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request DTO for a vacation pay forecast over every start date of a year")
+public class VacationPayForecastRequestDto {
+
+    @Schema(description = "The average salary over the year used for vacation pay calculation", example = "50000.00")
+    @NotNull(message = "Average salary cannot be null")
+    @DecimalMin(value = "1.0", inclusive = true, message = "Average salary must be greater than zero")
+    private BigDecimal averageSalary;
+
+    @Schema(description = "The year of the vacation start dates", example = "2024")
+    @NotNull(message = "Year cannot be null")
+    @Min(value = 1900, message = "Year must be at least 1900")
+    @Max(value = 9999, message = "Year must be at most 9999")
+    private Integer year;
+
+    @Schema(description = "The longest vacation to forecast, in calendar days", example = "28")
+    @NotNull(message = "Maximum length cannot be null")
+    @Min(value = 1, message = "Maximum length must be at least 1")
+    @Max(value = 366, message = "Maximum length must be at most 366")
+    private Integer maxLength;
+}
@@ -0,0 +1,36 @@
+package com.akerumort.VacationPayCalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Vacation pay for every start date of a year and every vacation length up to the maximum")
+public class VacationPayForecastResponseDto {
+
+    @Schema(description = "The year of the vacation start dates", example = "2024")
+    private int year;
+
+    @Schema(description = "The longest forecast vacation, in calendar days", example = "28")
+    private int maxLength;
+
+    @Schema(description = "Vacation pay by the number of paid vacation days, from 0 to the maximum length",
+            example = "[0.00, 2375.09, 4750.17]")
+    private List<BigDecimal> vacationPayByPaidDays;
+
+    @Schema(description = "Paid vacation days by start date and length: row i starts on day i + 1 of the year, " +
+            "column j is a vacation of j + 1 calendar days", example = "[[1, 2, 2], [1, 1, 1]]")
+    private int[][] paidVacationDays;
+
+    @Schema(description = "Message indicating that the amounts are after tax deduction",
+            example = VacationPayResponse.TAX_MESSAGE)
+    private String message;
+}
@@ -0,0 +1,48 @@
+package com.akerumort.VacationPayCalculator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Status of an asynchronous bulk calculation job")
+public class VacationPayJobDto {
+
+    /**
+     * Processing state of a job.
+     */
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Schema(description = "Job identifier", example = "3f2b9c1e-8a47-4d0e-9a51-0c6f1b2d7e84")
+    private String id;
+
+    @Schema(description = "Processing state of the job", example = "RUNNING")
+    private State state;
+
+    @Schema(description = "Media type of the uploaded rows and of the results", example = "text/csv")
+    private String format;
+
+    @Schema(description = "Size of the uploaded input in bytes", example = "10485760")
+    private long inputBytes;
+
+    @Schema(description = "Number of input bytes processed so far", example = "5242880")
+    private long processedBytes;
+
+    @Schema(description = "Number of rows processed so far", example = "120000")
+    private long processedRows;
+
+    @Schema(description = "Reason of the failure, present when the job failed", example = "No space left on device")
+    private String error;
+}
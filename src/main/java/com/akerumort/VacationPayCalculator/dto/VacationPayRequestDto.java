@@ -3,8 +3,10 @@ package com.akerumort.VacationPayCalculator.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,17 +20,19 @@ import java.util.List;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@AverageSalaryOrEmployeeId
 @Schema(description = "Request DTO for vacation pay calculation")
 public class VacationPayRequestDto {
 
-    @Schema(description = "The average salary over the year used for vacation pay calculation", example = "50000.00")
-    @NotNull(message = "Average salary cannot be null")
+    @Schema(description = "The average salary over the year used for vacation pay calculation; taken from the " +
+            "earnings history of the employee when missing", example = "50000.00")
     @DecimalMin(value = "1.0", inclusive = true, message = "Average salary must be greater than zero")
     private BigDecimal averageSalary;
 
     @Schema(description = "The total number of vacation days requested", example = "25")
     @NotNull(message = "Vacation days cannot be null")
     @Min(value = 1, message = "Vacation days must be at least 1")
+    @Max(value = 3660, message = "Vacation days must be at most 3660")
     private int vacationDays;
 
     @Schema(description = "List of specific vacation dates", example = "[\"2024-09-01\", \"2024-09-02\"]")
@@ -40,4 +44,25 @@ public class VacationPayRequestDto {
 
     @Schema(description = "End date of the vacation period", example = "2024-09-15")
     private LocalDate vacationEndDate;
+
+    @Schema(description = "Periods of a vacation split into several parts, instead of the dates or the start and " +
+            "end date")
+    @Valid
+    private List<VacationPeriodDto> vacationPeriods;
+
+    @Schema(description = "Id of the employee whose earnings history gives the average salary, instead of the " +
+            "average salary", example = "E-1042")
+    @Size(max = 64, message = "Employee id must be at most 64 characters")
+    private String employeeId;
+
+    public VacationPayRequestDto(BigDecimal averageSalary, int vacationDays, List<LocalDate> vacationDates,
+                                 LocalDate vacationStartDate, LocalDate vacationEndDate) {
+        this(averageSalary, vacationDays, vacationDates, vacationStartDate, vacationEndDate, null);
+    }
+
+    public VacationPayRequestDto(BigDecimal averageSalary, int vacationDays, List<LocalDate> vacationDates,
+                                 LocalDate vacationStartDate, LocalDate vacationEndDate,
+                                 List<VacationPeriodDto> vacationPeriods) {
+        this(averageSalary, vacationDays, vacationDates, vacationStartDate, vacationEndDate, vacationPeriods, null);
+    }
 }
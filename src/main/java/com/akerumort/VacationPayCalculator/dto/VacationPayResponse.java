@@ -0,0 +1,16 @@
+package com.akerumort.VacationPayCalculator.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Result of a vacation pay calculation: simple when only the number of days is known, detailed when the
+ * vacation dates are known.
+ */
+public sealed interface VacationPayResponse permits SimpleVacationPayResponseDto, DetailedVacationPayResponseDto {
+
+    String TAX_MESSAGE = "Amount is calculated after deducting 13% tax.";
+
+    BigDecimal getVacationPay();
+
+    String getMessage();
+}
@@ -0,0 +1,26 @@
+package com.akerumort.VacationPayCalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One part of a vacation split into several periods")
+public class VacationPeriodDto {
+
+    @Schema(description = "Start date of the period", example = "2024-06-03")
+    @NotNull(message = "Period start date cannot be null")
+    private LocalDate startDate;
+
+    @Schema(description = "End date of the period", example = "2024-06-16")
+    @NotNull(message = "Period end date cannot be null")
+    private LocalDate endDate;
+}
@@ -0,0 +1,33 @@
+package com.akerumort.VacationPayCalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Vacation pay for one period of a split vacation")
+public class VacationPeriodPayDto {
+
+    @Schema(description = "Start date of the period", example = "2024-06-03")
+    private LocalDate startDate;
+
+    @Schema(description = "End date of the period", example = "2024-06-16")
+    private LocalDate endDate;
+
+    @Schema(description = "The calculated vacation pay for the period", example = "18123.45")
+    private BigDecimal vacationPay;
+
+    @Schema(description = "The number of weekends and public holidays within the period", example = "5")
+    private int weekendsAndHolidays;
+
+    @Schema(description = "The number of paid vacation days in the period", example = "9")
+    private int paidVacationDays;
+}
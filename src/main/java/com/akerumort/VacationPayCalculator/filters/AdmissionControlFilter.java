@@ -0,0 +1,302 @@
+package com.akerumort.VacationPayCalculator.filters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Admission control of the calculation endpoints. A request that is over its client's rate or over the
+ * concurrency limit is answered at once with 429 and {@code Retry-After}, instead of waiting in the Tomcat queue
+ * and adding to the latency of the admitted requests.
+ * <p>
+ * The rate is a token bucket per client, identified by the client header or else the remote address. The buckets
+ * are a fixed array of stripes selected by the hash of the client, so clients sharing a stripe share its rate.
+ * A bucket is a single long, the time at which it will be full again (GCRA), updated by compare-and-set.
+ * The client key is what the client asserts, so a per-client rate only holds against clients that cannot choose
+ * their key, e.g. behind a gateway that sets the header from the authenticated caller.
+ * <p>
+ * The concurrency limits adapt to the latency of the admitted requests (AIMD): a request slower than the latency
+ * target cuts the limit by the backoff ratio, a faster one raises it by one per limit requests while the limit is
+ * used. Single calculations and bulk requests (batch, stream and forecast), whose cost is orders of magnitude
+ * higher, have limits of their own with their own latency targets, so bulk traffic does not shed single
+ * calculations. Streamed bulk requests take a slot but do not feed back their latency, which grows with the
+ * upload. The filter runs first, so shed requests are neither decompressed nor read.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "vacation-pay.admission.enabled", havingValue = "true")
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String PATH = "/calculate";
+    private static final String STREAM_PATH = "/calculate/stream";
+
+    /**
+     * Longs per stripe, so that neighbouring buckets are on different cache lines.
+     */
+    private static final int STRIPE_STRIDE = 8;
+
+    private final String clientHeader;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int stripeMask;
+    private final AtomicLongArray buckets;
+
+    private final ConcurrencyLimit singleLimit;
+    private final ConcurrencyLimit bulkLimit;
+
+    private final Counter admitted;
+    private final Counter rateShed;
+    private final Counter concurrencyShed;
+
+    /**
+     * @param clientHeader Header that identifies the client; requests without it are keyed by remote address
+     * @param rate Requests per second allowed for a client
+     * @param burst Requests a client may send at once after being idle
+     * @param stripes Number of token buckets, rounded up to a power of two
+     * @param initialLimit Concurrency limit at startup
+     * @param minLimit Lowest concurrency limit
+     * @param maxLimit Highest concurrency limit
+     * @param latencyTarget Latency of a single calculation above which its concurrency limit is decreased
+     * @param bulkLatencyTarget Latency of a bulk request above which its concurrency limit is decreased
+     * @param backoffRatio Factor applied to the concurrency limit on a slow request
+     * @param meterRegistry Registry of the admission meters
+     */
+    public AdmissionControlFilter(@Value("${vacation-pay.admission.client-header:X-Client-Id}") String clientHeader,
+                                  @Value("${vacation-pay.admission.rate:100}") double rate,
+                                  @Value("${vacation-pay.admission.burst:200}") int burst,
+                                  @Value("${vacation-pay.admission.stripes:1024}") int stripes,
+                                  @Value("${vacation-pay.admission.initial-limit:20}") int initialLimit,
+                                  @Value("${vacation-pay.admission.min-limit:2}") int minLimit,
+                                  @Value("${vacation-pay.admission.max-limit:200}") int maxLimit,
+                                  @Value("${vacation-pay.admission.latency-target:100ms}") Duration latencyTarget,
+                                  @Value("${vacation-pay.admission.bulk-latency-target:5s}")
+                                  Duration bulkLatencyTarget,
+                                  @Value("${vacation-pay.admission.backoff-ratio:0.9}") double backoffRatio,
+                                  MeterRegistry meterRegistry) {
+        this.clientHeader = clientHeader;
+        this.emissionIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, burst - 1);
+        int stripeCount = Integer.highestOneBit(Math.max(1, stripes - 1) << 1);
+        this.stripeMask = stripeCount - 1;
+        this.buckets = new AtomicLongArray(stripeCount * STRIPE_STRIDE);
+
+        this.singleLimit = new ConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyTarget, backoffRatio);
+        this.bulkLimit = new ConcurrencyLimit(initialLimit, minLimit, maxLimit, bulkLatencyTarget, backoffRatio);
+
+        this.admitted = Counter.builder("vacation.pay.admission.admitted")
+                .description("Calculation requests admitted by admission control")
+                .register(meterRegistry);
+        this.rateShed = shedCounter(meterRegistry, "rate");
+        this.concurrencyShed = shedCounter(meterRegistry, "concurrency");
+        registerGauges(meterRegistry, "single", singleLimit);
+        registerGauges(meterRegistry, "bulk", bulkLimit);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+        return !path.equals(PATH) && !path.startsWith(PATH + "/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.nanoTime();
+        long rateWaitNanos = acquireToken(clientKey(request), now);
+        if (rateWaitNanos > 0) {
+            rateShed.increment();
+            reject(response, rateWaitNanos, "Request rate limit exceeded");
+            return;
+        }
+        String path = path(request);
+        ConcurrencyLimit limit = limitFor(path);
+        if (!limit.acquire()) {
+            concurrencyShed.increment();
+            reject(response, TimeUnit.SECONDS.toNanos(1), "Too many concurrent requests");
+            return;
+        }
+
+        admitted.increment();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int concurrent = limit.release();
+            if (!path.equals(STREAM_PATH)) {
+                limit.adjust(System.nanoTime() - now, concurrent);
+            }
+        }
+    }
+
+    /**
+     * Returns the concurrency limit of the requests to a path: the single calculation one for {@code /calculate}
+     * and the bulk one for its sub-paths.
+     */
+    ConcurrencyLimit limitFor(String path) {
+        return path.equals(PATH) ? singleLimit : bulkLimit;
+    }
+
+    /**
+     * Takes a token from the client's bucket.
+     *
+     * @return 0 if a token was taken, otherwise the time until the bucket has a token
+     */
+    long acquireToken(String clientKey, long now) {
+        int index = (spread(clientKey.hashCode()) & stripeMask) * STRIPE_STRIDE;
+        while (true) {
+            long fullAt = buckets.get(index);
+            // A bucket that was never used has 0, which is also a full one for the current time
+            long nextFullAt = (fullAt == 0 || fullAt - now < 0 ? now : fullAt) + emissionIntervalNanos;
+            long wait = nextFullAt - now - burstToleranceNanos - emissionIntervalNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (buckets.compareAndSet(index, fullAt, nextFullAt)) {
+                return 0;
+            }
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String client = request.getHeader(clientHeader);
+        return client == null || client.isEmpty() ? request.getRemoteAddr() : client;
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(
+                Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1))));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static Counter shedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("vacation.pay.admission.shed")
+                .description("Calculation requests rejected by admission control")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static void registerGauges(MeterRegistry meterRegistry, String endpoint, ConcurrencyLimit limit) {
+        Gauge.builder("vacation.pay.admission.limit", limit, ConcurrencyLimit::getLimit)
+                .description("Adaptive concurrency limit of the calculation requests")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("vacation.pay.admission.in.flight", limit.inFlight, AtomicInteger::get)
+                .description("Calculation requests being handled")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adaptive concurrency limit of one class of requests. The limit is a double kept as its bits in an atomic
+     * long, so that additive increases of a fraction accumulate.
+     */
+    static final class ConcurrencyLimit {
+
+        private final double minLimit;
+        private final double maxLimit;
+        private final long latencyTargetNanos;
+        private final double backoffRatio;
+        private final AtomicLong limitBits;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        ConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, Duration latencyTarget, double backoffRatio) {
+            this.minLimit = Math.max(1, minLimit);
+            this.maxLimit = Math.max(this.minLimit, maxLimit);
+            this.latencyTargetNanos = latencyTarget.toNanos();
+            this.backoffRatio = backoffRatio;
+            this.limitBits = new AtomicLong(Double.doubleToLongBits(
+                    Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit))));
+        }
+
+        /**
+         * Returns the current concurrency limit.
+         */
+        double getLimit() {
+            return Double.longBitsToDouble(limitBits.get());
+        }
+
+        /**
+         * Takes a slot if fewer requests than the limit are in flight.
+         *
+         * @return true if a slot was taken
+         */
+        boolean acquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= (int) getLimit()) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Returns a slot.
+         *
+         * @return Requests in flight, including the completed one, when it completed
+         */
+        int release() {
+            return inFlight.getAndDecrement();
+        }
+
+        /**
+         * Decreases the limit multiplicatively after a slow request, or increases it additively after a fast
+         * request that ran while at least half of the limit was in use.
+         *
+         * @param latencyNanos Latency of the request
+         * @param concurrent Requests in flight, including this one, when it completed
+         */
+        void adjust(long latencyNanos, int concurrent) {
+            while (true) {
+                long bits = limitBits.get();
+                double limit = Double.longBitsToDouble(bits);
+                double next;
+                if (latencyNanos > latencyTargetNanos) {
+                    next = Math.max(minLimit, limit * backoffRatio);
+                } else if (concurrent * 2 >= limit) {
+                    next = Math.min(maxLimit, limit + 1 / limit);
+                } else {
+                    return;
+                }
+                if (next == limit || limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.akerumort.VacationPayCalculator.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Makes the response compression threshold ({@code server.compression.min-response-size}) apply to JSON
+ * responses. The message converters flush the body, which commits the response before its length is known,
+ * and Tomcat then compresses it whatever its size. This filter holds back the body of a client that accepts
+ * compressed responses until it reaches the threshold: a smaller response is sent with its length and without
+ * compression, a larger one is passed through as it is written.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    private final int threshold;
+
+    /**
+     * @param threshold Smallest response that is compressed
+     */
+    public CompressionThresholdFilter(@Value("${server.compression.min-response-size:2KB}") DataSize threshold) {
+        this.threshold = (int) threshold.toBytes();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (request.getHeader(HttpHeaders.ACCEPT_ENCODING) == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ThresholdResponseWrapper wrapper = new ThresholdResponseWrapper(response, threshold);
+        filterChain.doFilter(request, wrapper);
+        wrapper.finish();
+    }
+
+    /**
+     * Response that buffers its body up to the threshold. Flushes are deferred while the body is buffered.
+     */
+    private static final class ThresholdResponseWrapper extends HttpServletResponseWrapper {
+
+        private final ThresholdOutputStream outputStream;
+        private PrintWriter writer;
+
+        ThresholdResponseWrapper(HttpServletResponse response, int threshold) {
+            super(response);
+            this.outputStream = new ThresholdOutputStream(response, threshold);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null) {
+                String encoding = getCharacterEncoding();
+                Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+                writer = new PrintWriter(new OutputStreamWriter(outputStream, charset));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            outputStream.flush();
+        }
+
+        @Override
+        public void resetBuffer() {
+            outputStream.reset();
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            outputStream.reset();
+            super.reset();
+        }
+
+        /**
+         * Sends a body that stayed below the threshold, with its length.
+         */
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            outputStream.finish();
+        }
+    }
+
+    private static final class ThresholdOutputStream extends ServletOutputStream {
+
+        private final HttpServletResponse response;
+        private final int threshold;
+        private byte[] buffer = new byte[256];
+        private int size;
+        private boolean passThrough;
+
+        ThresholdOutputStream(HttpServletResponse response, int threshold) {
+            this.response = response;
+            this.threshold = threshold;
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            write(new byte[]{(byte) value}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (passThrough) {
+                response.getOutputStream().write(bytes, offset, length);
+                return;
+            }
+
+            if (size + length < threshold) {
+                if (size + length > buffer.length) {
+                    buffer = Arrays.copyOf(buffer, Math.min(threshold, Math.max(buffer.length * 2, size + length)));
+                }
+                System.arraycopy(bytes, offset, buffer, size, length);
+                size += length;
+                return;
+            }
+
+            passThrough = true;
+            ServletOutputStream target = response.getOutputStream();
+            target.write(buffer, 0, size);
+            target.write(bytes, offset, length);
+            buffer = null;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (passThrough) {
+                response.getOutputStream().flush();
+            }
+        }
+
+        void reset() {
+            if (!passThrough) {
+                size = 0;
+            }
+        }
+
+        void finish() throws IOException {
+            if (passThrough || size == 0) {
+                return;
+            }
+            if (!response.isCommitted()) {
+                response.setContentLength(size);
+            }
+            response.getOutputStream().write(buffer, 0, size);
+            passThrough = true;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Asynchronous writes are not supported");
+        }
+    }
+}
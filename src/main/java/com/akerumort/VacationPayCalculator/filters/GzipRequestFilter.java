@@ -0,0 +1,196 @@
+package com.akerumort.VacationPayCalculator.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decompresses request bodies sent with {@code Content-Encoding: gzip}, so that large batch and bulk uploads can
+ * be compressed by the client. The body is inflated while it is read and never held in memory as a whole; an
+ * inflated body larger than the configured limit fails the read. Other content encodings are rejected with 415.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "vacation-pay.compression.request-decompression", havingValue = "true",
+        matchIfMissing = true)
+public class GzipRequestFilter extends OncePerRequestFilter {
+
+    private final long maxInflatedSize;
+
+    /**
+     * @param maxInflatedSize Largest accepted request body after decompression
+     */
+    public GzipRequestFilter(@Value("${vacation-pay.compression.max-inflated-size:64MB}") DataSize maxInflatedSize) {
+        this.maxInflatedSize = maxInflatedSize.toBytes();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (encoding == null || encoding.isBlank() || encoding.trim().equalsIgnoreCase("identity")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!encoding.trim().equalsIgnoreCase("gzip") && !encoding.trim().equalsIgnoreCase("x-gzip")) {
+            response.setStatus(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE);
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("Unsupported content encoding: " + encoding);
+            return;
+        }
+
+        filterChain.doFilter(new GzipRequestWrapper(request, maxInflatedSize), response);
+    }
+
+    /**
+     * Request whose body is the inflated original body. The encoding and length headers of the compressed body
+     * are hidden.
+     */
+    private static final class GzipRequestWrapper extends HttpServletRequestWrapper {
+
+        private final long maxInflatedSize;
+        private ServletInputStream inputStream;
+
+        GzipRequestWrapper(HttpServletRequest request, long maxInflatedSize) {
+            super(request);
+            this.maxInflatedSize = maxInflatedSize;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new InflatingInputStream(
+                        new GZIPInputStream(super.getInputStream(), 8192), maxInflatedSize);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isHidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !isHidden(name))
+                    .toList());
+        }
+
+        private static boolean isHidden(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+                    || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+
+    /**
+     * Blocking servlet stream over the inflated body that counts the inflated bytes against the limit.
+     */
+    private static final class InflatingInputStream extends ServletInputStream {
+
+        private final InputStream inflated;
+        private final long maxInflatedSize;
+        private long inflatedSize;
+        private boolean finished;
+
+        InflatingInputStream(InputStream inflated, long maxInflatedSize) {
+            this.inflated = inflated;
+            this.maxInflatedSize = maxInflatedSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = inflated.read();
+            if (value < 0) {
+                finished = true;
+            } else {
+                count(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = inflated.read(buffer, offset, length);
+            if (read < 0) {
+                finished = true;
+            } else {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int bytes) throws IOException {
+            inflatedSize += bytes;
+            if (inflatedSize > maxInflatedSize) {
+                throw new IOException("Decompressed request body exceeds " + maxInflatedSize + " bytes");
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            inflated.close();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException("Asynchronous reads of compressed bodies are not supported");
+        }
+    }
+}
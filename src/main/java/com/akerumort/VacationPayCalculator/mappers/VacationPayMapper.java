@@ -2,10 +2,12 @@ package com.akerumort.VacationPayCalculator.mappers;
 
 import com.akerumort.VacationPayCalculator.dto.DetailedVacationPayResponseDto;
 import com.akerumort.VacationPayCalculator.dto.SimpleVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPeriodPayDto;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface VacationPayMapper {
@@ -15,6 +17,15 @@ public interface VacationPayMapper {
     @Mapping(target = "message", source = "taxMessage")
     @Mapping(target = "weekendsAndHolidays", source = "weekendsAndHolidays")
     @Mapping(target = "paidVacationDays", source = "paidVacationDays")
+    @Mapping(target = "periods", ignore = true)
     DetailedVacationPayResponseDto toDetailedDto(BigDecimal vacationPay, int weekendsAndHolidays,
                                                  int paidVacationDays, String taxMessage);
+
+    @Mapping(target = "message", source = "taxMessage")
+    @Mapping(target = "weekendsAndHolidays", source = "weekendsAndHolidays")
+    @Mapping(target = "paidVacationDays", source = "paidVacationDays")
+    @Mapping(target = "periods", source = "periods")
+    DetailedVacationPayResponseDto toDetailedDto(BigDecimal vacationPay, int weekendsAndHolidays,
+                                                 int paidVacationDays, List<VacationPeriodPayDto> periods,
+                                                 String taxMessage);
 }
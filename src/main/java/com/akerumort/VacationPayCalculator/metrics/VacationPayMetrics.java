@@ -0,0 +1,142 @@
+package com.akerumort.VacationPayCalculator.metrics;
+
+import com.akerumort.VacationPayCalculator.dto.DetailedVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Meters of the vacation pay calculation. All meters are registered once up front,
+ * so recording on the request path is a plain call without registry lookups.
+ * Requests are timed with a percentile histogram; the stages inside a request only
+ * accumulate count and total time, which keeps per-stage recording to two adder increments.
+ */
+@Component
+public class VacationPayMetrics {
+
+    /**
+     * Stages of a single calculation.
+     */
+    public enum Stage {
+        VALIDATION("validation"),
+        DATE_EXPANSION("date_expansion"),
+        HOLIDAY_FILTERING("holiday_filtering"),
+        MONEY_MATH("money_math");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Timer requestTimer;
+    private final LongAdder[] stageCounts;
+    private final LongAdder[] stageNanos;
+    private final Counter simpleResults;
+    private final Counter detailedResults;
+    private final Counter validationErrors;
+    private final Counter serverErrors;
+    private final AtomicInteger lastRangeLength = new AtomicInteger();
+
+    public VacationPayMetrics(MeterRegistry meterRegistry) {
+        this.requestTimer = Timer.builder("vacation.pay.requests")
+                .description("Time to handle a vacation pay calculation request")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        this.stageCounts = new LongAdder[Stage.values().length];
+        this.stageNanos = new LongAdder[Stage.values().length];
+        for (Stage stage : Stage.values()) {
+            LongAdder count = new LongAdder();
+            LongAdder nanos = new LongAdder();
+            stageCounts[stage.ordinal()] = count;
+            stageNanos[stage.ordinal()] = nanos;
+            FunctionTimer.builder("vacation.pay.stage", stage, ignored -> count.sum(),
+                            ignored -> nanos.sum(), TimeUnit.NANOSECONDS)
+                    .description("Time spent in a stage of the vacation pay calculation")
+                    .tag("stage", stage.tag)
+                    .register(meterRegistry);
+        }
+
+        this.simpleResults = resultCounter(meterRegistry, "simple");
+        this.detailedResults = resultCounter(meterRegistry, "detailed");
+        this.validationErrors = resultCounter(meterRegistry, "validation_error");
+        this.serverErrors = resultCounter(meterRegistry, "server_error");
+
+        Gauge.builder("vacation.pay.range.days", lastRangeLength, AtomicInteger::get)
+                .description("Length in days of the date range of the last calculated request")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the timer of whole calculation requests.
+     *
+     * @return Request timer
+     */
+    public Timer getRequestTimer() {
+        return requestTimer;
+    }
+
+    /**
+     * Records the time spent in a stage.
+     *
+     * @param stage Calculation stage
+     * @param startNanos Value of {@link System#nanoTime()} when the stage started
+     */
+    public void recordStage(Stage stage, long startNanos) {
+        stageNanos[stage.ordinal()].add(System.nanoTime() - startNanos);
+        stageCounts[stage.ordinal()].increment();
+    }
+
+    /**
+     * Counts a successful calculation by its response type.
+     *
+     * @param response Calculation response
+     */
+    public void recordResult(VacationPayResponse response) {
+        if (response instanceof DetailedVacationPayResponseDto) {
+            detailedResults.increment();
+        } else {
+            simpleResults.increment();
+        }
+    }
+
+    /**
+     * Counts a request rejected by validation.
+     */
+    public void recordValidationError() {
+        validationErrors.increment();
+    }
+
+    /**
+     * Counts a request that failed with an unexpected error.
+     */
+    public void recordServerError() {
+        serverErrors.increment();
+    }
+
+    /**
+     * Records the length of the date range of a request.
+     *
+     * @param days Number of days in the range
+     */
+    public void recordRangeLength(int days) {
+        lastRangeLength.set(days);
+    }
+
+    private static Counter resultCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("vacation.pay.results")
+                .description("Vacation pay calculation results by type")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,334 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.akerumort.VacationPayCalculator.dto.VacationPayResponse;
+import com.akerumort.VacationPayCalculator.dto.VacationPeriodDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32C;
+
+/**
+ * Optional append-only journal of every calculated vacation payment, see {@link AuditRecord}. The request thread
+ * only adds the record to a lock-free queue; a single writer thread encodes the records into memory-mapped
+ * segment files. Written records survive a crash of the process at once, as they are in the page cache; they are
+ * forced to the disk as a group when {@code commit-records} records are waiting or the oldest of them has waited
+ * {@code commit-interval}, which bounds the records lost if the machine fails. A full segment is closed and a new
+ * one named after its first sequence is started. When the writer falls behind by {@code queue-capacity} records,
+ * request threads wait for it rather than lose records.
+ * <p>
+ * If the writer fails, the records it has not written yet are lost and counted as dropped, later calculations
+ * fail instead of going unrecorded, and the journal reports itself down in the health endpoint until restarted.
+ * <p>
+ * Segment: magic and reserved int, then frames of payload length, CRC32C of the payload and payload. At startup
+ * the last segment is scanned and appended to after its last complete record. Records are read back with
+ * {@link AuditJournalReader}.
+ */
+@Component
+public class AuditJournal implements HealthIndicator, DisposableBean {
+
+    private static final Logger logger = LogManager.getLogger(AuditJournal.class);
+
+    static final int SEGMENT_MAGIC = 0x56504A31;
+    static final int SEGMENT_HEADER_SIZE = 2 * Integer.BYTES;
+    static final int FRAME_HEADER_SIZE = 2 * Integer.BYTES;
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final long QUEUE_FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final long commitIntervalNanos;
+    private final int commitRecords;
+    private final int queueCapacity;
+    private final ConcurrentLinkedQueue<AuditRecord> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Thread writer;
+    private final Counter writtenRecords;
+    private final Counter droppedRecords;
+
+    private volatile boolean running = true;
+    private volatile String failure;
+
+    // Writer thread state
+    private final CRC32C crc = new CRC32C();
+    private ByteBuffer encoding = ByteBuffer.allocate(1024);
+    private MappedByteBuffer segment;
+    private int committedPosition;
+    private int uncommittedRecords;
+    private long firstUncommittedNanos;
+    private long nextSequence;
+
+    /**
+     * Opens the journal and starts the writer thread.
+     *
+     * @param enabled Whether calculations are journaled; a disabled journal ignores them
+     * @param directory Directory of the segment files
+     * @param segmentSize Size of a segment file
+     * @param commitInterval Longest time a written record waits to be forced to the disk
+     * @param commitRecords Number of written records that are forced to the disk at once
+     * @param queueCapacity Number of records waiting for the writer before request threads wait
+     * @param meterRegistry Registry of the journal meters
+     * @throws IllegalStateException If the journal cannot be opened
+     */
+    public AuditJournal(@Value("${vacation-pay.audit.enabled:false}") boolean enabled,
+                        @Value("${vacation-pay.audit.directory:audit}") String directory,
+                        @Value("${vacation-pay.audit.segment-size:64MB}") DataSize segmentSize,
+                        @Value("${vacation-pay.audit.commit-interval:10ms}") Duration commitInterval,
+                        @Value("${vacation-pay.audit.commit-records:1000}") int commitRecords,
+                        @Value("${vacation-pay.audit.queue-capacity:65536}") int queueCapacity,
+                        MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentSize = (int) Math.min(Integer.MAX_VALUE, Math.max(4096, segmentSize.toBytes()));
+        this.commitIntervalNanos = commitInterval.toNanos();
+        this.commitRecords = Math.max(1, commitRecords);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.writtenRecords = Counter.builder("vacation.pay.audit.records")
+                .description("Calculations written to the audit journal")
+                .register(meterRegistry);
+        this.droppedRecords = Counter.builder("vacation.pay.audit.dropped")
+                .description("Calculations that could not be written to the audit journal")
+                .register(meterRegistry);
+        if (!enabled) {
+            this.writer = null;
+            return;
+        }
+
+        Gauge.builder("vacation.pay.audit.queue", queued, AtomicInteger::get)
+                .description("Calculations waiting to be written to the audit journal")
+                .register(meterRegistry);
+        try {
+            open();
+        } catch (IOException | RuntimeException ex) {
+            throw new IllegalStateException("Cannot open the audit journal in " + directory, ex);
+        }
+        this.writer = new Thread(this::writeLoop, "audit-journal-writer");
+        writer.start();
+        logger.info("Audit journal enabled in {} from sequence {}, segment size {}, commit every {} records or {}",
+                directory, nextSequence, segmentSize, commitRecords, commitInterval);
+    }
+
+    /**
+     * Queues a calculation for the journal. Returns at once unless the writer is {@code queue-capacity} records
+     * behind.
+     *
+     * @param calendarVersion Version of the production calendars the calculation used
+     * @param averageSalary Average salary
+     * @param employeeId Employee id of the request, or null
+     * @param vacationDays Number of vacation days
+     * @param vacationDates List of specific vacation dates; it must not be changed afterwards
+     * @param vacationStartDate Start date of the vacation
+     * @param vacationEndDate End date of the vacation
+     * @param vacationPeriods Periods of a split vacation; the list must not be changed afterwards
+     * @param response Calculation result
+     * @throws IllegalStateException If the writer has failed
+     */
+    public void record(long calendarVersion, BigDecimal averageSalary, String employeeId, int vacationDays,
+                       List<LocalDate> vacationDates, LocalDate vacationStartDate, LocalDate vacationEndDate,
+                       List<VacationPeriodDto> vacationPeriods, VacationPayResponse response) {
+        if (!enabled) {
+            return;
+        }
+        checkWriter();
+        if (!running) {
+            droppedRecords.increment();
+            return;
+        }
+
+        while (queued.get() >= queueCapacity && failure == null) {
+            LockSupport.parkNanos(QUEUE_FULL_PARK_NANOS);
+        }
+        checkWriter();
+        queued.incrementAndGet();
+        queue.offer(AuditRecord.of(calendarVersion, averageSalary, employeeId, vacationDays, vacationDates,
+                vacationStartDate, vacationEndDate, vacationPeriods, response));
+    }
+
+    /**
+     * Reports the journal down once the writer has failed.
+     */
+    @Override
+    public Health health() {
+        if (!enabled) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+        String error = failure;
+        if (error != null) {
+            return Health.down().withDetail("error", error).build();
+        }
+        return Health.up().build();
+    }
+
+    /**
+     * Writes the queued records, forces them to the disk and stops the writer.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join();
+        }
+    }
+
+    private void checkWriter() {
+        if (failure != null) {
+            throw new IllegalStateException("Audit journal is unavailable: " + failure);
+        }
+    }
+
+    /**
+     * Continues the last segment after its last complete record, or starts the first segment. The torn rest of
+     * a record cut off by a crash is cleared, so that it cannot be mistaken for a record later.
+     */
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segments = AuditJournalReader.segments(directory);
+        if (segments.isEmpty()) {
+            startSegment();
+            return;
+        }
+
+        Path last = segments.get(segments.size() - 1);
+        segment = AuditJournalReader.map(last, FileChannel.MapMode.READ_WRITE);
+        AuditJournalReader.checkHeader(segment, last);
+        String name = last.getFileName().toString();
+        nextSequence = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        int end = AuditJournalReader.scan(segment, (buffer, offset, length) ->
+                nextSequence = AuditRecord.sequence(buffer, offset) + 1);
+
+        if (end + Integer.BYTES <= segment.limit() && segment.getInt(end) != 0) {
+            logger.warn("Clearing a torn audit record at {} of {}", end, last);
+            for (int position = end; position < segment.limit(); position++) {
+                segment.put(position, (byte) 0);
+            }
+            segment.force();
+        }
+        segment.position(end);
+        committedPosition = end;
+    }
+
+    private void writeLoop() {
+        try {
+            while (true) {
+                AuditRecord record = queue.poll();
+                if (record != null) {
+                    queued.decrementAndGet();
+                    append(record);
+                    if (uncommittedRecords >= commitRecords) {
+                        commit();
+                    }
+                    continue;
+                }
+
+                if (uncommittedRecords > 0 && System.nanoTime() - firstUncommittedNanos >= commitIntervalNanos) {
+                    commit();
+                }
+                if (!running) {
+                    if (queue.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                LockSupport.parkNanos(Math.max(1, Math.min(commitIntervalNanos, MAX_IDLE_PARK_NANOS)));
+            }
+            commit();
+        } catch (IOException | RuntimeException ex) {
+            failure = ex.toString();
+            droppedRecords.increment(queued.getAndSet(0));
+            queue.clear();
+            logger.error("Audit journal writer failed, calculations are rejected until restart: {}", failure);
+        }
+    }
+
+    /**
+     * Writes one frame into the current segment, starting a new segment if it does not fit. The length is
+     * written last, so a concurrent reader never takes a partly written frame for a record.
+     */
+    private void append(AuditRecord record) throws IOException {
+        int maxSize = record.maxEncodedSize();
+        if (FRAME_HEADER_SIZE + maxSize > segmentSize - SEGMENT_HEADER_SIZE) {
+            logger.error("Audit record of {} bytes does not fit into a segment of {} bytes", maxSize, segmentSize);
+            droppedRecords.increment();
+            return;
+        }
+        if (encoding.capacity() < maxSize) {
+            encoding = ByteBuffer.allocate(Integer.highestOneBit(maxSize) << 1);
+        }
+        encoding.clear();
+        record.encode(nextSequence, encoding);
+        encoding.flip();
+        int length = encoding.remaining();
+
+        if (segment.remaining() < FRAME_HEADER_SIZE + length) {
+            commit();
+            startSegment();
+        }
+
+        crc.reset();
+        crc.update(encoding);
+        int position = segment.position();
+        segment.put(position + FRAME_HEADER_SIZE, encoding, 0, length);
+        segment.putInt(position + Integer.BYTES, (int) crc.getValue());
+        segment.putInt(position, length);
+        segment.position(position + FRAME_HEADER_SIZE + length);
+
+        nextSequence++;
+        if (uncommittedRecords++ == 0) {
+            firstUncommittedNanos = System.nanoTime();
+        }
+        writtenRecords.increment();
+    }
+
+    /**
+     * Forces the records written since the last commit to the disk.
+     */
+    private void commit() {
+        int position = segment.position();
+        if (position > committedPosition) {
+            segment.force(committedPosition, position - committedPosition);
+            committedPosition = position;
+        }
+        uncommittedRecords = 0;
+    }
+
+    /**
+     * Creates and maps a new segment named after the sequence of its first record.
+     */
+    private void startSegment() throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", nextSequence, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        segment.putInt(SEGMENT_MAGIC);
+        segment.putInt(0);
+        committedPosition = 0;
+        logger.info("Started audit journal segment {}", file);
+    }
+}
@@ -0,0 +1,176 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Replays the audit journal. Segments are read in the order of their first sequence, and each segment up to its
+ * last complete record, so the journal can be read while it is being written.
+ * <p>
+ * Command line: {@code AuditJournalReader <directory> [--from <time>] [--to <time>]} prints the records
+ * calculated in {@code [from, to)} as newline-delimited JSON; a time is an ISO instant or a date (UTC midnight).
+ * A summary of the records read goes to the standard error.
+ */
+public final class AuditJournalReader {
+
+    private AuditJournalReader() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length % 2 == 0) {
+            System.err.println("Usage: AuditJournalReader <directory> [--from <time>] [--to <time>]");
+            System.exit(2);
+        }
+
+        long from = Long.MIN_VALUE;
+        long to = Long.MAX_VALUE;
+        for (int i = 1; i < args.length; i += 2) {
+            switch (args[i]) {
+                case "--from" -> from = parseTime(args[i + 1]);
+                case "--to" -> to = parseTime(args[i + 1]);
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.exit(2);
+                }
+            }
+        }
+
+        ObjectWriter writer = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .writerFor(AuditRecord.class);
+        long first = from;
+        long last = to;
+        long[] matched = new long[1];
+        OutputStream output = new BufferedOutputStream(System.out);
+        long total = read(Path.of(args[0]), record -> {
+            if (record.timestamp() < first || record.timestamp() >= last) {
+                return;
+            }
+            try {
+                writer.writeValue(output, record);
+                output.write('\n');
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+            matched[0]++;
+        });
+        output.flush();
+        System.err.printf("%d of %d records%n", matched[0], total);
+    }
+
+    /**
+     * Reads every complete record of the journal.
+     *
+     * @param directory Journal directory
+     * @param consumer Consumer of the records in the order of their sequence
+     * @return Number of records read
+     * @throws IOException If a segment cannot be read or is not a journal segment
+     */
+    public static long read(Path directory, Consumer<AuditRecord> consumer) throws IOException {
+        long count = 0;
+        for (Path segmentFile : segments(directory)) {
+            ByteBuffer segment = map(segmentFile, FileChannel.MapMode.READ_ONLY);
+            checkHeader(segment, segmentFile);
+            int[] records = new int[1];
+            scan(segment, (buffer, offset, length) -> {
+                consumer.accept(AuditRecord.decode(buffer.slice(offset, length)));
+                records[0]++;
+            });
+            count += records[0];
+        }
+        return count;
+    }
+
+    /**
+     * Lists the segment files of a journal in the order of their first sequence.
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + AuditJournal.SEGMENT_SUFFIX)) {
+            files.forEach(segments::add);
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    static MappedByteBuffer map(Path segmentFile, FileChannel.MapMode mode) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[] {StandardOpenOption.READ}
+                : new StandardOpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(segmentFile, options)) {
+            return channel.map(mode, 0, channel.size());
+        }
+    }
+
+    static void checkHeader(ByteBuffer segment, Path segmentFile) throws IOException {
+        if (segment.limit() < AuditJournal.SEGMENT_HEADER_SIZE || segment.getInt(0) != AuditJournal.SEGMENT_MAGIC) {
+            throw new IOException(segmentFile + " is not an audit journal segment");
+        }
+    }
+
+    /**
+     * Visits the complete records of a segment: a frame is the payload length and the CRC32C of the payload
+     * (ints) followed by the payload. The scan stops at a zero length, which is the unwritten rest of the
+     * segment, or at a frame that does not fit or fails its checksum, which is a record torn by a crash.
+     *
+     * @param segment Mapped segment
+     * @param visitor Visitor of the record payloads
+     * @return Position after the last complete record
+     */
+    static int scan(ByteBuffer segment, FrameVisitor visitor) {
+        CRC32C crc = new CRC32C();
+        int position = AuditJournal.SEGMENT_HEADER_SIZE;
+        while (position + AuditJournal.FRAME_HEADER_SIZE <= segment.limit()) {
+            int length = segment.getInt(position);
+            int payload = position + AuditJournal.FRAME_HEADER_SIZE;
+            if (length <= 0 || length > segment.limit() - payload) {
+                break;
+            }
+            crc.reset();
+            crc.update(segment.slice(payload, length));
+            if ((int) crc.getValue() != segment.getInt(position + Integer.BYTES)) {
+                break;
+            }
+            visitor.visit(segment, payload, length);
+            position = payload + length;
+        }
+        return position;
+    }
+
+    private static long parseTime(String value) {
+        return value.length() == 10
+                ? LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli()
+                : Instant.parse(value).toEpochMilli();
+    }
+
+    @FunctionalInterface
+    interface FrameVisitor {
+
+        void visit(ByteBuffer segment, int payloadOffset, int length);
+    }
+}
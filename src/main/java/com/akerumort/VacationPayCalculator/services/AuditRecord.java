@@ -0,0 +1,230 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.akerumort.VacationPayCalculator.dto.DetailedVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayResponse;
+import com.akerumort.VacationPayCalculator.dto.VacationPeriodDto;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Calculation kept in the audit journal: the request, the result and the production calendar version it was
+ * calculated with.
+ * <p>
+ * Binary form, big-endian: format version (byte), sequence, timestamp in epoch milliseconds and calendar version
+ * (longs), average salary (decimal), employee id (length int and UTF-8 bytes, length -1 if missing; absent in
+ * format version 1), vacation days (int), start and end date (epoch day ints), vacation dates
+ * (count and epoch day ints), vacation periods (count and start and end epoch day ints), vacation pay (decimal),
+ * weekends and holidays and paid vacation days (ints). A decimal is its scale (short), the length of its unscaled
+ * value (byte) and the unscaled value in two's complement; a missing date or number is {@link #NONE} and a
+ * missing list has the count -1.
+ *
+ * @param sequence Position of the record in the journal, assigned when it is written
+ * @param timestamp Time of the calculation in epoch milliseconds
+ * @param calendarVersion Version of the installed production calendars
+ * @param averageSalary Average salary
+ * @param employeeId Employee id of the request, or null
+ * @param vacationDays Number of vacation days
+ * @param vacationDates List of specific vacation dates, or null
+ * @param vacationStartDate Start date of the vacation, or null
+ * @param vacationEndDate End date of the vacation, or null
+ * @param vacationPeriods Periods of a split vacation, or null
+ * @param vacationPay Calculated vacation pay
+ * @param weekendsAndHolidays Number of weekends and holidays, or null for a calculation without dates
+ * @param paidVacationDays Number of paid vacation days, or null for a calculation without dates
+ */
+public record AuditRecord(long sequence, long timestamp, long calendarVersion, BigDecimal averageSalary,
+                          String employeeId, int vacationDays, List<LocalDate> vacationDates,
+                          LocalDate vacationStartDate, LocalDate vacationEndDate,
+                          List<VacationPeriodDto> vacationPeriods, BigDecimal vacationPay, Integer weekendsAndHolidays, Integer paidVacationDays) {
+
+    static final int NONE = Integer.MIN_VALUE;
+
+    private static final byte FORMAT_VERSION = 2;
+
+    /**
+     * Creates the record of a calculation; the sequence is assigned by the journal.
+     */
+    static AuditRecord of(long calendarVersion, BigDecimal averageSalary, String employeeId, int vacationDays,
+                          List<LocalDate> vacationDates, LocalDate vacationStartDate, LocalDate vacationEndDate,
+                          List<VacationPeriodDto> vacationPeriods, VacationPayResponse response) {
+        Integer weekendsAndHolidays = null;
+        Integer paidVacationDays = null;
+        if (response instanceof DetailedVacationPayResponseDto detailed) {
+            weekendsAndHolidays = detailed.getWeekendsAndHolidays();
+            paidVacationDays = detailed.getPaidVacationDays();
+        }
+        return new AuditRecord(-1, System.currentTimeMillis(), calendarVersion, averageSalary, employeeId,
+                vacationDays, vacationDates, vacationStartDate, vacationEndDate, vacationPeriods,
+                response.getVacationPay(), weekendsAndHolidays, paidVacationDays);
+    }
+
+    /**
+     * Returns an upper bound of the encoded size.
+     */
+    int maxEncodedSize() {
+        int dates = vacationDates == null ? 0 : vacationDates.size();
+        int periods = vacationPeriods == null ? 0 : vacationPeriods.size();
+        // A UTF-16 char takes at most 3 bytes in UTF-8
+        int employeeIdSize = employeeId == null ? 0 : 3 * employeeId.length();
+        return 1 + 3 * Long.BYTES + 2 * maxDecimalSize(averageSalary, vacationPay) + employeeIdSize
+                + 8 * Integer.BYTES + (dates + 2 * periods) * Integer.BYTES;
+    }
+
+    /**
+     * Writes the binary form with the given sequence.
+     *
+     * @param assignedSequence Position of the record in the journal
+     * @param buffer Destination with at least {@link #maxEncodedSize()} bytes remaining
+     */
+    void encode(long assignedSequence, ByteBuffer buffer) {
+        buffer.put(FORMAT_VERSION);
+        buffer.putLong(assignedSequence);
+        buffer.putLong(timestamp);
+        buffer.putLong(calendarVersion);
+        putDecimal(buffer, averageSalary);
+        if (employeeId == null) {
+            buffer.putInt(-1);
+        } else {
+            byte[] id = employeeId.getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(id.length);
+            buffer.put(id);
+        }
+        buffer.putInt(vacationDays);
+        buffer.putInt(epochDay(vacationStartDate));
+        buffer.putInt(epochDay(vacationEndDate));
+
+        if (vacationDates == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(vacationDates.size());
+            for (LocalDate date : vacationDates) {
+                buffer.putInt(epochDay(date));
+            }
+        }
+
+        if (vacationPeriods == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(vacationPeriods.size());
+            for (VacationPeriodDto period : vacationPeriods) {
+                buffer.putInt(epochDay(period.getStartDate()));
+                buffer.putInt(epochDay(period.getEndDate()));
+            }
+        }
+
+        putDecimal(buffer, vacationPay);
+        buffer.putInt(weekendsAndHolidays == null ? NONE : weekendsAndHolidays);
+        buffer.putInt(paidVacationDays == null ? NONE : paidVacationDays);
+    }
+
+    /**
+     * Reads the binary form.
+     *
+     * @param buffer Source positioned at the record
+     * @return Decoded record
+     * @throws IllegalArgumentException If the record has an unknown format version
+     */
+    static AuditRecord decode(ByteBuffer buffer) {
+        byte formatVersion = buffer.get();
+        if (formatVersion < 1 || formatVersion > FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unknown audit record format version " + formatVersion);
+        }
+
+        long sequence = buffer.getLong();
+        long timestamp = buffer.getLong();
+        long calendarVersion = buffer.getLong();
+        BigDecimal averageSalary = getDecimal(buffer);
+        String employeeId = null;
+        if (formatVersion >= 2) {
+            int length = buffer.getInt();
+            if (length >= 0) {
+                byte[] id = new byte[length];
+                buffer.get(id);
+                employeeId = new String(id, StandardCharsets.UTF_8);
+            }
+        }
+        int vacationDays = buffer.getInt();
+        LocalDate vacationStartDate = date(buffer.getInt());
+        LocalDate vacationEndDate = date(buffer.getInt());
+
+        List<LocalDate> vacationDates = null;
+        int dateCount = buffer.getInt();
+        if (dateCount >= 0) {
+            vacationDates = new ArrayList<>(dateCount);
+            for (int i = 0; i < dateCount; i++) {
+                vacationDates.add(date(buffer.getInt()));
+            }
+        }
+
+        List<VacationPeriodDto> vacationPeriods = null;
+        int periodCount = buffer.getInt();
+        if (periodCount >= 0) {
+            vacationPeriods = new ArrayList<>(periodCount);
+            for (int i = 0; i < periodCount; i++) {
+                vacationPeriods.add(new VacationPeriodDto(date(buffer.getInt()), date(buffer.getInt())));
+            }
+        }
+
+        BigDecimal vacationPay = getDecimal(buffer);
+        int weekendsAndHolidays = buffer.getInt();
+        int paidVacationDays = buffer.getInt();
+        return new AuditRecord(sequence, timestamp, calendarVersion, averageSalary, employeeId, vacationDays,
+                vacationDates, vacationStartDate, vacationEndDate, vacationPeriods, vacationPay,
+                weekendsAndHolidays == NONE ? null : weekendsAndHolidays,
+                paidVacationDays == NONE ? null : paidVacationDays);
+    }
+
+    /**
+     * Reads only the sequence of an encoded record.
+     */
+    static long sequence(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + 1);
+    }
+
+    private static int maxDecimalSize(BigDecimal first, BigDecimal second) {
+        int size = Short.BYTES + 1;
+        for (BigDecimal value : new BigDecimal[] {first, second}) {
+            if (value != null) {
+                size = Math.max(size, Short.BYTES + 1 + value.unscaledValue().bitLength() / 8 + 1);
+            }
+        }
+        return size;
+    }
+
+    private static void putDecimal(ByteBuffer buffer, BigDecimal value) {
+        if (value == null) {
+            buffer.putShort((short) 0);
+            buffer.put((byte) 0);
+            return;
+        }
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        buffer.putShort((short) value.scale());
+        buffer.put((byte) unscaled.length);
+        buffer.put(unscaled);
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer buffer) {
+        short scale = buffer.getShort();
+        int length = buffer.get() & 0xFF;
+        if (length == 0) {
+            return null;
+        }
+        byte[] unscaled = new byte[length];
+        buffer.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date == null ? NONE : (int) date.toEpochDay();
+    }
+
+    private static LocalDate date(int epochDay) {
+        return epochDay == NONE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
@@ -0,0 +1,43 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+@Component
+@ConditionalOnProperty(name = "vacation-pay.money-engine", havingValue = "big-decimal", matchIfMissing = true)
+public class BigDecimalMoneyEngine implements MoneyEngine {
+
+    private static final BigDecimal WORK_DAYS_IN_MONTH = new BigDecimal("29.3");
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.13"); // НДФЛ 13%
+
+    @Override
+    public BigDecimal calculateNetVacationPay(BigDecimal averageSalary, int paidDays) {
+        return calculateNetVacationPay(calculateGrossVacationPay(averageSalary, paidDays));
+    }
+
+    /**
+     * Calculates gross vacation pay.
+     *
+     * @param averageSalary Average salary
+     * @param days Number of paid days
+     * @return Gross vacation pay
+     */
+    private BigDecimal calculateGrossVacationPay(BigDecimal averageSalary, int days) {
+        return averageSalary.divide(WORK_DAYS_IN_MONTH, 2, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(days));
+    }
+
+    /**
+     * Calculates net vacation pay after tax deduction.
+     *
+     * @param grossVacationPay Gross vacation pay
+     * @return Net vacation pay
+     */
+    private BigDecimal calculateNetVacationPay(BigDecimal grossVacationPay) {
+        BigDecimal taxAmount = grossVacationPay.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+        return grossVacationPay.subtract(taxAmount);
+    }
+}
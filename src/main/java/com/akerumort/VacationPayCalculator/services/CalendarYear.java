@@ -0,0 +1,36 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Production calendar of one year as published by the government.
+ * Saturdays and Sundays are non-working unless listed as working days.
+ *
+ * @param year Calendar year
+ * @param holidays Non-working days besides weekends, including holidays moved from a weekend
+ * @param workingDays Weekend days that are declared working days
+ */
+public record CalendarYear(int year, List<LocalDate> holidays, List<LocalDate> workingDays) {
+
+    public CalendarYear {
+        holidays = holidays == null ? List.of() : List.copyOf(holidays);
+        workingDays = workingDays == null ? List.of() : List.copyOf(workingDays);
+
+        for (LocalDate date : holidays) {
+            checkYear(year, date);
+        }
+        for (LocalDate date : workingDays) {
+            checkYear(year, date);
+            if (holidays.contains(date)) {
+                throw new IllegalArgumentException("Date " + date + " is both a holiday and a working day");
+            }
+        }
+    }
+
+    private static void checkYear(int year, LocalDate date) {
+        if (date.getYear() != year) {
+            throw new IllegalArgumentException("Date " + date + " does not belong to year " + year);
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.akerumort.VacationPayCalculator.exceptions.CustomValidationException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Rolling earnings histories of employees, from which the average monthly salary of a calculation is taken when
+ * the request gives an employee id instead of the salary. The average is the earnings of the 12 months ending with
+ * the latest recorded month, divided by the months worked in them: a month with excluded days (sick leave and
+ * other excluded periods) counts as the part of its calendar days that were not excluded, and its earnings are
+ * those of the worked days. This is the monthly form of the average daily earnings, which the money engine then
+ * divides by 29.3.
+ * <p>
+ * Each employee has a slot in primitive arrays: a ring of 12 months, indexed by the month modulo 12, with the
+ * earnings in kopecks and the worked part of the month in units of 1/{@value #MONTH_UNITS} of a month (the least
+ * common multiple of the month lengths, so that every part is exact), and the running totals and average of the
+ * window. Recording a month adjusts the totals by the months it replaces and evicts, so the average is never
+ * recomputed from the history. Reads are lock-free unless they race with a write.
+ * <p>
+ * The histories are saved to a snapshot file every {@code snapshot-interval} if they changed and when the
+ * application stops, and loaded from it at startup. The file is replaced atomically.
+ */
+@Component
+public class EarningsHistoryStore implements DisposableBean {
+
+    private static final Logger logger = LogManager.getLogger(EarningsHistoryStore.class);
+
+    static final int MONTHS = 12;
+    static final int MONTH_UNITS = 377580;
+    static final BigDecimal MINIMUM_AVERAGE_SALARY = new BigDecimal("1.0");
+
+    private static final int SNAPSHOT_MAGIC = 0x56504548;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private final Path snapshotFile;
+    private final ScheduledExecutorService scheduler;
+    private final StampedLock lock = new StampedLock();
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+
+    // Guarded by the write lock; read optimistically
+    private String[] employeeIds = new String[16];
+    private int[] monthKeys = new int[16 * MONTHS];
+    private long[] monthEarnings = new long[16 * MONTHS];
+    private int[] monthUnits = new int[16 * MONTHS];
+    private int[] latestMonths = new int[16];
+    private long[] totalEarnings = new long[16];
+    private long[] totalUnits = new long[16];
+    private long[] averageSalaries = new long[16];
+    private int employees;
+    private long modifications;
+    private long savedModifications;
+
+    /**
+     * Loads the snapshot and starts saving it.
+     *
+     * @param snapshotFile Snapshot file; blank keeps the histories in memory only
+     * @param snapshotInterval Interval between saves of changed histories; zero or negative saves only at stop
+     * @throws IllegalStateException If the snapshot exists but cannot be read
+     */
+    public EarningsHistoryStore(@Value("${vacation-pay.earnings.snapshot-file:}") String snapshotFile,
+                                @Value("${vacation-pay.earnings.snapshot-interval:10s}") Duration snapshotInterval) {
+        if (snapshotFile.isBlank()) {
+            this.snapshotFile = null;
+            this.scheduler = null;
+            return;
+        }
+
+        this.snapshotFile = Path.of(snapshotFile);
+        try {
+            load();
+        } catch (IOException | RuntimeException ex) {
+            throw new IllegalStateException("Cannot load the earnings snapshot " + snapshotFile, ex);
+        }
+
+        if (snapshotInterval.isZero() || snapshotInterval.isNegative()) {
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "earnings-snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = snapshotInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::saveIfChanged, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records or corrects the earnings of a month. A month after the latest one starts a new window and evicts
+     * the months that fall out of it; a month within the window replaces the recorded one. A month later than the
+     * next calendar month is rejected, so that a mistyped year cannot evict a whole history.
+     *
+     * @param employeeId Employee id
+     * @param month Month of the earnings
+     * @param earnings Earnings of the worked days, in rubles with at most two fraction digits
+     * @param excludedDays Calendar days of the month in excluded periods
+     * @return Average monthly salary after the update, or empty if no day of the window was worked
+     * @throws CustomValidationException If the month is before the window or in the future, the values are
+     *         invalid, or the totals of the window would overflow; the history is then left unchanged
+     */
+    public Optional<BigDecimal> record(String employeeId, YearMonth month, BigDecimal earnings, int excludedDays) {
+        YearMonth latestAllowed = YearMonth.now().plusMonths(1);
+        if (month.isAfter(latestAllowed)) {
+            throw new CustomValidationException("Month " + month + " is after " + latestAllowed);
+        }
+        int daysInMonth = month.lengthOfMonth();
+        if (excludedDays < 0 || excludedDays > daysInMonth) {
+            throw new CustomValidationException("Excluded days must be between 0 and " + daysInMonth + " in "
+                    + month);
+        }
+        if (earnings.signum() < 0 || earnings.scale() > 2) {
+            throw new CustomValidationException("Earnings must be a non-negative amount in kopecks");
+        }
+        long kopecks;
+        try {
+            kopecks = earnings.movePointRight(2).longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new CustomValidationException("Earnings " + earnings.toPlainString() + " are too large");
+        }
+        int units = (daysInMonth - excludedDays) * (MONTH_UNITS / daysInMonth);
+        int key = monthKey(month);
+
+        long stamp = lock.writeLock();
+        try {
+            Integer existing = slots.get(employeeId);
+            int latest = existing != null ? latestMonths[existing] : EMPTY;
+            if (latest != EMPTY && key <= latest - MONTHS) {
+                throw new CustomValidationException("Month " + month + " is before the 12 months ending with "
+                        + YearMonth.of(latest / 12, latest % 12 + 1) + " of employee " + employeeId);
+            }
+
+            // The months between the latest one and the new one fall out of the window, including the one the new
+            // month replaces; a month within the window replaces only itself
+            int from = latest == EMPTY || key <= latest ? key : Math.max(latest + 1, key - MONTHS + 1);
+
+            // Compute the new totals and average before changing anything, so that a rejected month leaves the
+            // history as it was
+            long newEarnings = 0;
+            long newUnits = 0;
+            long newAverage;
+            try {
+                if (existing != null) {
+                    newEarnings = totalEarnings[existing];
+                    newUnits = totalUnits[existing];
+                    int base = existing * MONTHS;
+                    for (int evicted = from; evicted <= key; evicted++) {
+                        int index = base + Math.floorMod(evicted, MONTHS);
+                        if (monthKeys[index] != EMPTY) {
+                            newEarnings -= monthEarnings[index];
+                            newUnits -= monthUnits[index];
+                        }
+                    }
+                }
+                newEarnings = Math.addExact(newEarnings, kopecks);
+                newUnits += units;
+                newAverage = average(newEarnings, newUnits);
+            } catch (ArithmeticException ex) {
+                throw new CustomValidationException("Earnings of employee " + employeeId + " in " + month
+                        + " make the total of the 12 months too large");
+            }
+
+            int slot = existing != null ? existing : slotOf(employeeId);
+            int base = slot * MONTHS;
+            for (int evicted = from; evicted <= key; evicted++) {
+                clear(slot, base + Math.floorMod(evicted, MONTHS));
+            }
+            if (latest == EMPTY || key > latest) {
+                latestMonths[slot] = key;
+            }
+
+            int index = base + Math.floorMod(key, MONTHS);
+            monthKeys[index] = key;
+            monthEarnings[index] = kopecks;
+            monthUnits[index] = units;
+            totalEarnings[slot] = newEarnings;
+            totalUnits[slot] = newUnits;
+            averageSalaries[slot] = newAverage;
+            modifications++;
+            return toSalary(averageSalaries[slot]);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the average monthly salary of an employee.
+     *
+     * @param employeeId Employee id
+     * @return Average monthly salary, or empty if the employee is unknown or no day of the window was worked
+     */
+    public Optional<BigDecimal> getAverageSalary(String employeeId) {
+        long stamp = lock.tryOptimisticRead();
+        Integer slot = slots.get(employeeId);
+        long[] averages = averageSalaries;
+        long average = slot != null && slot < averages.length ? averages[slot] : -1;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                slot = slots.get(employeeId);
+                average = slot != null ? averageSalaries[slot] : -1;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return slot == null ? Optional.empty() : toSalary(average);
+    }
+
+    /**
+     * Returns the number of months of an employee's window with recorded earnings.
+     *
+     * @param employeeId Employee id
+     * @return Number of recorded months, 0 for an unknown employee
+     */
+    public int getRecordedMonths(String employeeId) {
+        long stamp = lock.readLock();
+        try {
+            Integer slot = slots.get(employeeId);
+            if (slot == null) {
+                return 0;
+            }
+            int count = 0;
+            for (int i = slot * MONTHS; i < (slot + 1) * MONTHS; i++) {
+                count += monthKeys[i] != EMPTY ? 1 : 0;
+            }
+            return count;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the average monthly salary of the request, taken from the employee's history if the request has
+     * no salary of its own.
+     *
+     * @param averageSalary Average salary of the request, or null
+     * @param employeeId Employee id of the request, or null
+     * @return Average salary to calculate with, or null if the request has neither
+     * @throws CustomValidationException If the employee has no history to take the salary from, or its average is
+     *         below the minimum an explicit salary must reach
+     */
+    public BigDecimal resolveAverageSalary(BigDecimal averageSalary, String employeeId) {
+        if (averageSalary != null || employeeId == null) {
+            return averageSalary;
+        }
+        BigDecimal average = getAverageSalary(employeeId).orElseThrow(() -> new CustomValidationException(
+                "No earnings in the last 12 months of employee " + employeeId));
+        if (average.compareTo(MINIMUM_AVERAGE_SALARY) < 0) {
+            throw new CustomValidationException("Average salary of employee " + employeeId
+                    + " must be greater than zero");
+        }
+        return average;
+    }
+
+    /**
+     * Saves the snapshot if the histories changed since it was last saved.
+     */
+    public synchronized void saveIfChanged() {
+        if (snapshotFile == null) {
+            return;
+        }
+
+        long stamp = lock.readLock();
+        long saving;
+        String[] ids;
+        int[] keys;
+        long[] earnings;
+        int[] units;
+        try {
+            saving = modifications;
+            if (saving == savedModifications) {
+                return;
+            }
+            ids = Arrays.copyOf(employeeIds, employees);
+            keys = Arrays.copyOf(monthKeys, employees * MONTHS);
+            earnings = Arrays.copyOf(monthEarnings, employees * MONTHS);
+            units = Arrays.copyOf(monthUnits, employees * MONTHS);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+
+        try {
+            save(ids, keys, earnings, units);
+            savedModifications = saving;
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Failed to save the earnings snapshot {}: {}", snapshotFile, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        saveIfChanged();
+    }
+
+    /**
+     * Writes the months of the employees to a temporary file, forces it and moves it over the snapshot.
+     * Format: magic, version, employee count, then per employee its id and 12 times month key, earnings in
+     * kopecks and worked units.
+     */
+    private void save(String[] ids, int[] keys, long[] earnings, int[] units) throws IOException {
+        Path temporary = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                    Channels.newOutputStream(channel), 1 << 16));
+            output.writeInt(SNAPSHOT_MAGIC);
+            output.writeInt(SNAPSHOT_VERSION);
+            output.writeInt(ids.length);
+            for (int slot = 0; slot < ids.length; slot++) {
+                output.writeUTF(ids[slot]);
+                for (int i = slot * MONTHS; i < (slot + 1) * MONTHS; i++) {
+                    output.writeInt(keys[i]);
+                    output.writeLong(earnings[i]);
+                    output.writeInt(units[i]);
+                }
+            }
+            output.flush();
+            channel.force(false);
+        }
+        Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.debug("Saved the earnings of {} employees to {}", ids.length, snapshotFile);
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(snapshotFile)) {
+            return;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(snapshotFile), 1 << 16))) {
+            if (input.readInt() != SNAPSHOT_MAGIC || input.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException(snapshotFile + " is not an earnings snapshot");
+            }
+            int count = input.readInt();
+            for (int n = 0; n < count; n++) {
+                int slot = slotOf(input.readUTF());
+                for (int i = slot * MONTHS; i < (slot + 1) * MONTHS; i++) {
+                    monthKeys[i] = input.readInt();
+                    monthEarnings[i] = input.readLong();
+                    monthUnits[i] = input.readInt();
+                    if (monthKeys[i] != EMPTY) {
+                        latestMonths[slot] = Math.max(latestMonths[slot], monthKeys[i]);
+                        totalEarnings[slot] += monthEarnings[i];
+                        totalUnits[slot] += monthUnits[i];
+                    }
+                }
+                averageSalaries[slot] = average(totalEarnings[slot], totalUnits[slot]);
+            }
+        }
+        logger.info("Loaded the earnings of {} employees from {}", employees, snapshotFile);
+    }
+
+    /**
+     * Returns the slot of an employee, adding an empty one for a new employee. Called with the write lock.
+     */
+    private int slotOf(String employeeId) {
+        Integer slot = slots.get(employeeId);
+        if (slot != null) {
+            return slot;
+        }
+
+        if (employees == latestMonths.length) {
+            int capacity = employees * 2;
+            employeeIds = Arrays.copyOf(employeeIds, capacity);
+            monthKeys = Arrays.copyOf(monthKeys, capacity * MONTHS);
+            monthEarnings = Arrays.copyOf(monthEarnings, capacity * MONTHS);
+            monthUnits = Arrays.copyOf(monthUnits, capacity * MONTHS);
+            latestMonths = Arrays.copyOf(latestMonths, capacity);
+            totalEarnings = Arrays.copyOf(totalEarnings, capacity);
+            totalUnits = Arrays.copyOf(totalUnits, capacity);
+            averageSalaries = Arrays.copyOf(averageSalaries, capacity);
+        }
+        int added = employees++;
+        employeeIds[added] = employeeId;
+        Arrays.fill(monthKeys, added * MONTHS, (added + 1) * MONTHS, EMPTY);
+        latestMonths[added] = EMPTY;
+        averageSalaries[added] = -1;
+        slots.put(employeeId, added);
+        return added;
+    }
+
+    private void clear(int slot, int index) {
+        if (monthKeys[index] != EMPTY) {
+            totalEarnings[slot] -= monthEarnings[index];
+            totalUnits[slot] -= monthUnits[index];
+            monthKeys[index] = EMPTY;
+            monthEarnings[index] = 0;
+            monthUnits[index] = 0;
+        }
+    }
+
+    /**
+     * Returns the average monthly salary in kopecks, rounded half up, or -1 if no day was worked.
+     */
+    private static long average(long earnings, long units) {
+        if (units == 0) {
+            return -1;
+        }
+        return BigDecimal.valueOf(earnings).multiply(BigDecimal.valueOf(MONTH_UNITS))
+                .divide(BigDecimal.valueOf(units), 0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static Optional<BigDecimal> toSalary(long kopecks) {
+        return kopecks < 0 ? Optional.empty() : Optional.of(BigDecimal.valueOf(kopecks, 2));
+    }
+
+    private static int monthKey(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+}
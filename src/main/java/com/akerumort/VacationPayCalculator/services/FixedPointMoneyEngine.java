@@ -0,0 +1,97 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Money engine working in {@code long} kopecks. It reproduces {@link BigDecimalMoneyEngine} exactly:
+ * the daily rate is rounded HALF_UP to kopecks before multiplying by the days, and the tax is rounded
+ * HALF_UP to kopecks before subtracting. Salaries that do not fit the fixed-point range are delegated
+ * to the {@code BigDecimal} engine.
+ */
+@Component
+@ConditionalOnProperty(name = "vacation-pay.money-engine", havingValue = "fixed-point")
+public class FixedPointMoneyEngine implements MoneyEngine {
+
+    /** Work days in month (29.3) in tenths of a day. */
+    private static final long WORK_DAYS_IN_MONTH_TENTHS = 293;
+    private static final long TAX_PERCENT = 13; // НДФЛ 13%
+    private static final int MIN_SALARY_SCALE = -9;
+    private static final int MAX_SALARY_SCALE = 15;
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L
+    };
+
+    private final MoneyEngine fallbackEngine = new BigDecimalMoneyEngine();
+
+    @Override
+    public BigDecimal calculateNetVacationPay(BigDecimal averageSalary, int paidDays) {
+        int scale = averageSalary.scale();
+        if (scale < MIN_SALARY_SCALE || scale > MAX_SALARY_SCALE) {
+            return fallbackEngine.calculateNetVacationPay(averageSalary, paidDays);
+        }
+
+        BigInteger unscaledSalary = averageSalary.unscaledValue();
+        if (unscaledSalary.bitLength() > 62) {
+            return fallbackEngine.calculateNetVacationPay(averageSalary, paidDays);
+        }
+
+        try {
+            long dailyRate = dailyRateKopecks(unscaledSalary.longValue(), scale);
+            return BigDecimal.valueOf(netVacationPayKopecks(dailyRate, paidDays), 2);
+        } catch (ArithmeticException ex) {
+            return fallbackEngine.calculateNetVacationPay(averageSalary, paidDays);
+        }
+    }
+
+    /**
+     * Calculates the average daily earnings in kopecks: salary / 29.3 rounded HALF_UP to kopecks.
+     *
+     * @param unscaledSalary Unscaled value of the salary
+     * @param salaryScale Scale of the salary, from -9 to 15
+     * @return Daily rate in kopecks
+     * @throws ArithmeticException If the intermediate value overflows
+     */
+    public static long dailyRateKopecks(long unscaledSalary, int salaryScale) {
+        // salary / 29.3 in kopecks = unscaled * 10^(3 - scale) / 293
+        if (salaryScale <= 3) {
+            return divideHalfUp(Math.multiplyExact(unscaledSalary, POWERS_OF_TEN[3 - salaryScale]),
+                    WORK_DAYS_IN_MONTH_TENTHS);
+        }
+        return divideHalfUp(unscaledSalary, WORK_DAYS_IN_MONTH_TENTHS * POWERS_OF_TEN[salaryScale - 3]);
+    }
+
+    /**
+     * Calculates net vacation pay in kopecks from the daily rate.
+     *
+     * @param dailyRateKopecks Daily rate in kopecks
+     * @param paidDays Number of paid vacation days
+     * @return Net vacation pay in kopecks
+     * @throws ArithmeticException If the intermediate value overflows
+     */
+    public static long netVacationPayKopecks(long dailyRateKopecks, int paidDays) {
+        long grossVacationPay = Math.multiplyExact(dailyRateKopecks, paidDays);
+        long taxAmount = divideHalfUp(Math.multiplyExact(grossVacationPay, TAX_PERCENT), 100);
+        return grossVacationPay - taxAmount;
+    }
+
+    /**
+     * Divides with HALF_UP rounding, i.e. ties are rounded away from zero.
+     *
+     * @param dividend Dividend
+     * @param divisor Positive divisor
+     * @return Rounded quotient
+     */
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder >= divisor - remainder) {
+            quotient += dividend < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,400 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Calendar of weekends and public holidays. Years without a published production calendar follow the
+ * built-in rules; published years are installed at runtime and replace the rules for those years.
+ * Lookups never lock: installed years are swapped in as one immutable snapshot.
+ * <p>
+ * The built-in rules repeat every 400 years, weekdays included, so the index of a year is shared by the years of
+ * its place in the 400-year cycle and the cache is bounded whatever years are asked for.
+ */
+@Component
+public class HolidayCalendar {
+
+    private static final int[][] PUBLIC_HOLIDAYS = {
+            {1, 1}, {1, 2}, {1, 3}, {1, 4}, {1, 5}, {1, 6}, {1, 7}, {1, 8},
+            {2, 23}, {3, 8}, {5, 1}, {5, 9}, {6, 12}, {11, 4}
+    };
+
+    private static final int FIRST_INSTALLABLE_YEAR = 1900;
+    private static final int INSTALLABLE_YEARS = 300;
+    private static final int CYCLE_YEARS = 400;
+
+    /**
+     * Element i is the number of non-working days by the built-in rules in the years 0 to i - 1 of the cycle.
+     */
+    private static final int[] CYCLE_CUMULATIVE_COUNT = cycleCumulativeCount();
+
+    private final AtomicReferenceArray<YearIndex> builtInIndexByCycleYear = new AtomicReferenceArray<>(CYCLE_YEARS);
+
+    private volatile Snapshot snapshot = new Snapshot(0, new YearIndex[INSTALLABLE_YEARS],
+            new int[INSTALLABLE_YEARS + 1]);
+
+    /**
+     * Returns the installed production calendars as of now. Lookups that must agree with each other and with the
+     * calendar version, such as all lookups of one calculation, go through one snapshot.
+     *
+     * @return Snapshot of the installed production calendars
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Checks if a given date is a holiday or weekend.
+     *
+     * @param date Date to check
+     * @return true if the date is a holiday or weekend; otherwise false
+     */
+    public boolean isHolidayOrWeekend(LocalDate date) {
+        return snapshot.isHolidayOrWeekend(date);
+    }
+
+    /**
+     * Counts weekends and public holidays in the inclusive range.
+     *
+     * @param startDate First date of the range
+     * @param endDate Last date of the range, not earlier than the start date
+     * @return Number of weekends and public holidays in the range
+     * @throws ArithmeticException If the count overflows an int
+     * @see Snapshot#countHolidaysAndWeekends
+     */
+    public int countHolidaysAndWeekends(LocalDate startDate, LocalDate endDate) {
+        return snapshot.countHolidaysAndWeekends(startDate, endDate);
+    }
+
+    /**
+     * Builds prefix sums of weekends and public holidays over consecutive days.
+     *
+     * @param startDate First date of the span
+     * @param days Number of days in the span
+     * @return Array of {@code days + 1} elements where element i is the number of weekends and public holidays
+     *         among the first i days of the span
+     * @see Snapshot#cumulativeCount
+     */
+    public int[] cumulativeCount(LocalDate startDate, int days) {
+        return snapshot.cumulativeCount(startDate, days);
+    }
+
+    /**
+     * Counts the non-working days by the built-in rules from year 0 to the year before the given one; negative
+     * for years before year 0.
+     *
+     * @param year Calendar year
+     * @return Number of non-working days
+     */
+    private static long builtInCountBefore(int year) {
+        return (long) Math.floorDiv(year, CYCLE_YEARS) * CYCLE_CUMULATIVE_COUNT[CYCLE_YEARS]
+                + CYCLE_CUMULATIVE_COUNT[Math.floorMod(year, CYCLE_YEARS)];
+    }
+
+    /**
+     * Returns the built-in index of non-working days for the year's place in the 400-year cycle, built on first use.
+     *
+     * @param year Calendar year
+     * @return Index of weekends and public holidays
+     */
+    private YearIndex builtInYearIndex(int year) {
+        int cycleYear = Math.floorMod(year, CYCLE_YEARS);
+        YearIndex index = builtInIndexByCycleYear.get(cycleYear);
+        if (index == null) {
+            index = buildYearIndex(year);
+            if (!builtInIndexByCycleYear.compareAndSet(cycleYear, null, index)) {
+                index = builtInIndexByCycleYear.get(cycleYear);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Replaces the installed production calendars with the given years. Years that are not given fall back
+     * to the built-in rules. Lookups that are already running finish on the previous calendars.
+     *
+     * @param years Production calendars, at most one per year
+     * @return Version of the installed calendars
+     * @throws IllegalArgumentException If a year is given twice or is outside the supported range
+     */
+    public synchronized long install(Collection<CalendarYear> years) {
+        YearIndex[] installed = new YearIndex[INSTALLABLE_YEARS];
+        for (CalendarYear calendarYear : years) {
+            int slot = calendarYear.year() - FIRST_INSTALLABLE_YEAR;
+            if (slot < 0 || slot >= INSTALLABLE_YEARS) {
+                throw new IllegalArgumentException("Year " + calendarYear.year() + " is outside the supported range "
+                        + FIRST_INSTALLABLE_YEAR + "-" + (FIRST_INSTALLABLE_YEAR + INSTALLABLE_YEARS - 1));
+            }
+            if (installed[slot] != null) {
+                throw new IllegalArgumentException("Year " + calendarYear.year() + " is defined more than once");
+            }
+            installed[slot] = buildYearIndex(calendarYear);
+        }
+
+        int[] cumulativeCorrection = new int[INSTALLABLE_YEARS + 1];
+        for (int slot = 0; slot < INSTALLABLE_YEARS; slot++) {
+            int correction = installed[slot] == null ? 0
+                    : installed[slot].totalCount() - builtInCount(FIRST_INSTALLABLE_YEAR + slot);
+            cumulativeCorrection[slot + 1] = cumulativeCorrection[slot] + correction;
+        }
+
+        long version = snapshot.getVersion() + 1;
+        snapshot = new Snapshot(version, installed, cumulativeCorrection);
+        return version;
+    }
+
+    /**
+     * Returns the version of the installed production calendars.
+     *
+     * @return Calendar version
+     * @see Snapshot#getVersion
+     */
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
+
+    /**
+     * Counts the non-working days of a year by the built-in rules without building its index: the weekends of its
+     * 52 whole weeks and of the one or two days left, and the public holidays that fall on a weekday.
+     *
+     * @param year Calendar year
+     * @return Number of weekends and public holidays
+     */
+    private static int builtInCount(int year) {
+        int daysInYear = Year.of(year).length();
+        // Monday is 0, so Saturday and Sunday are 5 and 6
+        int firstDayOfWeek = LocalDate.ofYearDay(year, 1).getDayOfWeek().ordinal();
+        int count = 52 * 2;
+        for (int day = 52 * 7; day < daysInYear; day++) {
+            if ((firstDayOfWeek + day) % 7 >= 5) {
+                count++;
+            }
+        }
+        for (int[] holiday : PUBLIC_HOLIDAYS) {
+            if (LocalDate.of(year, holiday[0], holiday[1]).getDayOfWeek().ordinal() < 5) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Builds the prefix sums of the built-in counts over the years of the 400-year cycle.
+     *
+     * @return Array where element i is the count of the cycle years 0 to i - 1
+     */
+    private static int[] cycleCumulativeCount() {
+        int[] cumulative = new int[CYCLE_YEARS + 1];
+        for (int year = 0; year < CYCLE_YEARS; year++) {
+            cumulative[year + 1] = cumulative[year] + builtInCount(year);
+        }
+        return cumulative;
+    }
+
+    /**
+     * Builds the index of weekends and public holidays for the given year.
+     *
+     * @param year Calendar year
+     * @return Index of weekends and public holidays
+     */
+    private static YearIndex buildYearIndex(int year) {
+        BitSet nonWorkingDays = weekends(year);
+        for (int[] holiday : PUBLIC_HOLIDAYS) {
+            nonWorkingDays.set(LocalDate.of(year, holiday[0], holiday[1]).getDayOfYear() - 1);
+        }
+        return new YearIndex(nonWorkingDays, cumulativeCount(nonWorkingDays, Year.of(year).length()));
+    }
+
+    /**
+     * Builds the index of non-working days from a production calendar.
+     *
+     * @param calendarYear Production calendar of the year
+     * @return Index of non-working days
+     */
+    private static YearIndex buildYearIndex(CalendarYear calendarYear) {
+        BitSet nonWorkingDays = weekends(calendarYear.year());
+        for (LocalDate holiday : calendarYear.holidays()) {
+            nonWorkingDays.set(holiday.getDayOfYear() - 1);
+        }
+        for (LocalDate workingDay : calendarYear.workingDays()) {
+            nonWorkingDays.clear(workingDay.getDayOfYear() - 1);
+        }
+        return new YearIndex(nonWorkingDays, cumulativeCount(nonWorkingDays, Year.of(calendarYear.year()).length()));
+    }
+
+    /**
+     * Marks the Saturdays and Sundays of the given year.
+     *
+     * @param year Calendar year
+     * @return Bit set with one bit per day of the year
+     */
+    private static BitSet weekends(int year) {
+        int daysInYear = Year.of(year).length();
+        BitSet nonWorkingDays = new BitSet(daysInYear);
+
+        LocalDate date = LocalDate.ofYearDay(year, 1);
+        for (int dayOfYear = 0; dayOfYear < daysInYear; dayOfYear++) {
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+                nonWorkingDays.set(dayOfYear);
+            }
+            date = date.plusDays(1);
+        }
+        return nonWorkingDays;
+    }
+
+    /**
+     * Builds prefix sums over the non-working day bits.
+     *
+     * @param nonWorkingDays Bit set of non-working days
+     * @param daysInYear Number of days in the year
+     * @return Array where element i is the number of non-working days among the first i days of the year
+     */
+    private static int[] cumulativeCount(BitSet nonWorkingDays, int daysInYear) {
+        int[] cumulative = new int[daysInYear + 1];
+        for (int dayOfYear = 0; dayOfYear < daysInYear; dayOfYear++) {
+            cumulative[dayOfYear + 1] = cumulative[dayOfYear] + (nonWorkingDays.get(dayOfYear) ? 1 : 0);
+        }
+        return cumulative;
+    }
+
+    /**
+     * Installed production calendars at one moment, immutable. Years are indexed from the first installable year;
+     * a null slot uses the built-in rules. Element i of the cumulative correction is the difference between the
+     * installed and the built-in counts of the first i slots.
+     */
+    public final class Snapshot {
+
+        private final long version;
+        private final YearIndex[] installed;
+        private final int[] cumulativeCorrection;
+
+        private Snapshot(long version, YearIndex[] installed, int[] cumulativeCorrection) {
+            this.version = version;
+            this.installed = installed;
+            this.cumulativeCorrection = cumulativeCorrection;
+        }
+
+        /**
+         * Returns the version of these production calendars. It starts at zero with the built-in rules only and
+         * grows with every {@link #install}, so results computed with different calendars can be told apart.
+         *
+         * @return Calendar version
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Checks if a given date is a holiday or weekend.
+         *
+         * @param date Date to check
+         * @return true if the date is a holiday or weekend; otherwise false
+         */
+        public boolean isHolidayOrWeekend(LocalDate date) {
+            return yearIndex(date.getYear()).nonWorkingDays().get(date.getDayOfYear() - 1);
+        }
+
+        /**
+         * Counts weekends and public holidays in the inclusive range using per-year prefix sums for the first and
+         * the last year, and the totals of the 400-year cycle for the whole years between them. The cost does not
+         * depend on the length of the range.
+         *
+         * @param startDate First date of the range
+         * @param endDate Last date of the range, not earlier than the start date
+         * @return Number of weekends and public holidays in the range
+         * @throws ArithmeticException If the count overflows an int
+         */
+        public int countHolidaysAndWeekends(LocalDate startDate, LocalDate endDate) {
+            int startYear = startDate.getYear();
+            int endYear = endDate.getYear();
+
+            if (startYear == endYear) {
+                int[] cumulative = yearIndex(startYear).cumulativeCount();
+                return cumulative[endDate.getDayOfYear()] - cumulative[startDate.getDayOfYear() - 1];
+            }
+
+            YearIndex first = yearIndex(startYear);
+            long count = first.totalCount() - first.cumulativeCount()[startDate.getDayOfYear() - 1]
+                    + countWholeYears(startYear + 1, endYear)
+                    + yearIndex(endYear).cumulativeCount()[endDate.getDayOfYear()];
+            return Math.toIntExact(count);
+        }
+
+        /**
+         * Builds prefix sums of weekends and public holidays over consecutive days, for many range counts over the
+         * same span: the count in the days {@code [i, j)} of the span is {@code result[j] - result[i]}.
+         *
+         * @param startDate First date of the span
+         * @param days Number of days in the span
+         * @return Array of {@code days + 1} elements where element i is the number of weekends and public holidays
+         *         among the first i days of the span
+         */
+        public int[] cumulativeCount(LocalDate startDate, int days) {
+            int[] cumulative = new int[days + 1];
+
+            int year = startDate.getYear();
+            int dayOfYear = startDate.getDayOfYear() - 1;
+            int daysInYear = Year.of(year).length();
+            BitSet nonWorkingDays = yearIndex(year).nonWorkingDays();
+            for (int day = 0; day < days; day++) {
+                if (dayOfYear == daysInYear) {
+                    year++;
+                    dayOfYear = 0;
+                    daysInYear = Year.of(year).length();
+                    nonWorkingDays = yearIndex(year).nonWorkingDays();
+                }
+                cumulative[day + 1] = cumulative[day] + (nonWorkingDays.get(dayOfYear++) ? 1 : 0);
+            }
+            return cumulative;
+        }
+
+        /**
+         * Counts weekends and public holidays in whole years: the built-in count from the cycle totals, corrected
+         * by the installed years among them.
+         *
+         * @param fromYear First year, inclusive
+         * @param toYear Last year, exclusive
+         * @return Number of weekends and public holidays in the years
+         */
+        private long countWholeYears(int fromYear, int toYear) {
+            if (fromYear >= toYear) {
+                return 0;
+            }
+            int fromSlot = Math.min(Math.max(fromYear - FIRST_INSTALLABLE_YEAR, 0), INSTALLABLE_YEARS);
+            int toSlot = Math.min(Math.max(toYear - FIRST_INSTALLABLE_YEAR, 0), INSTALLABLE_YEARS);
+            return builtInCountBefore(toYear) - builtInCountBefore(fromYear)
+                    + cumulativeCorrection[toSlot] - cumulativeCorrection[fromSlot];
+        }
+
+        /**
+         * Returns the index of non-working days for the given year: the installed one, or else the built-in one.
+         *
+         * @param year Calendar year
+         * @return Index of weekends and public holidays
+         */
+        private YearIndex yearIndex(int year) {
+            int slot = year - FIRST_INSTALLABLE_YEAR;
+            if (slot >= 0 && slot < INSTALLABLE_YEARS && installed[slot] != null) {
+                return installed[slot];
+            }
+            return builtInYearIndex(year);
+        }
+    }
+
+    /**
+     * Non-working days of one calendar year with prefix sums for range counting.
+     */
+    private record YearIndex(BitSet nonWorkingDays, int[] cumulativeCount) {
+
+        int totalCount() {
+            return cumulativeCount[cumulativeCount.length - 1];
+        }
+    }
+}
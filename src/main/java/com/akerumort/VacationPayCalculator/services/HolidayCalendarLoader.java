@@ -0,0 +1,155 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads production calendars from a directory with one JSON file per year and installs them into the
+ * {@link HolidayCalendar}. The directory is polled, and when any file is added, changed or removed all files
+ * are read again and installed together. A directory that fails to load leaves the installed calendars as
+ * they were. Without a configured directory only the built-in rules are used.
+ * <p>
+ * File format: {@code {"year": 2025, "holidays": ["2025-01-01", ...], "workingDays": ["2025-11-01"]}}.
+ */
+@Component
+public class HolidayCalendarLoader implements DisposableBean {
+
+    private static final Logger logger = LogManager.getLogger(HolidayCalendarLoader.class);
+
+    private final HolidayCalendar holidayCalendar;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final ScheduledExecutorService scheduler;
+
+    private Map<Path, FileStamp> loadedStamps = Map.of();
+
+    /**
+     * Loads the calendars and starts polling the directory.
+     *
+     * @param holidayCalendar Calendar to install the loaded years into
+     * @param objectMapper Reader of the calendar files
+     * @param directory Directory with the calendar files; blank disables loading
+     * @param reloadInterval Interval between checks of the directory; zero or negative disables polling
+     * @throws IllegalStateException If the calendars cannot be loaded at startup
+     */
+    public HolidayCalendarLoader(HolidayCalendar holidayCalendar, ObjectMapper objectMapper,
+                                 @Value("${vacation-pay.calendar.directory:}") String directory,
+                                 @Value("${vacation-pay.calendar.reload-interval:30s}") Duration reloadInterval) {
+        this.holidayCalendar = holidayCalendar;
+        this.objectMapper = objectMapper;
+
+        if (directory.isBlank()) {
+            this.directory = null;
+            this.scheduler = null;
+            return;
+        }
+
+        this.directory = Path.of(directory);
+        try {
+            load(scan());
+        } catch (IOException | RuntimeException ex) {
+            throw new IllegalStateException("Cannot load production calendars from " + directory, ex);
+        }
+
+        if (reloadInterval.isZero() || reloadInterval.isNegative()) {
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "holiday-calendar-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = reloadInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::reloadIfChanged, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reads and installs the calendars again if any file in the directory has changed since the last attempt.
+     * A file that fails to load is not retried until it changes again.
+     *
+     * @return true if new calendars were installed
+     */
+    public synchronized boolean reloadIfChanged() {
+        if (directory == null) {
+            return false;
+        }
+
+        try {
+            Map<Path, FileStamp> stamps = scan();
+            if (stamps.equals(loadedStamps)) {
+                return false;
+            }
+            load(stamps);
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Failed to reload production calendars from {}, keeping version {}: {}",
+                    directory, holidayCalendar.getVersion(), ex.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Lists the calendar files with their modification stamps.
+     *
+     * @return Stamps of the calendar files by path
+     * @throws IOException If the directory cannot be read
+     */
+    private Map<Path, FileStamp> scan() throws IOException {
+        Map<Path, FileStamp> stamps = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path file : files) {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                stamps.put(file, new FileStamp(attributes.lastModifiedTime(), attributes.size()));
+            }
+        }
+        return stamps;
+    }
+
+    /**
+     * Reads all calendar files and installs them as one version.
+     *
+     * @param stamps Calendar files to read
+     * @throws IOException If a file cannot be read or parsed
+     */
+    private void load(Map<Path, FileStamp> stamps) throws IOException {
+        loadedStamps = stamps;
+
+        List<CalendarYear> years = new ArrayList<>(stamps.size());
+        for (Path file : stamps.keySet()) {
+            years.add(objectMapper.readValue(file.toFile(), CalendarYear.class));
+        }
+        long version = holidayCalendar.install(years);
+        logger.info("Installed production calendars for {} years from {}, version {}",
+                years.size(), directory, version);
+    }
+
+    private record FileStamp(FileTime lastModified, long size) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import java.math.BigDecimal;
+
+/**
+ * Money arithmetic of the vacation pay calculation: average daily earnings, gross pay and the 13% tax.
+ */
+public interface MoneyEngine {
+
+    /**
+     * Calculates net vacation pay after tax deduction.
+     *
+     * @param averageSalary Average monthly salary
+     * @param paidDays Number of paid vacation days
+     * @return Net vacation pay with a scale of 2
+     */
+    BigDecimal calculateNetVacationPay(BigDecimal averageSalary, int paidDays);
+}
@@ -0,0 +1,118 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiFunction;
+
+@Component
+public class ParallelCalculationExecutor implements DisposableBean {
+
+    private static final Logger logger = LogManager.getLogger(ParallelCalculationExecutor.class);
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final int chunkSize;
+
+    /**
+     * Creates the executor with a dedicated fork-join pool.
+     *
+     * @param parallelism Number of worker threads; zero or less means the number of available processors
+     * @param chunkSize Number of items calculated by one task; inputs not larger than this run on the caller thread
+     */
+    public ParallelCalculationExecutor(@Value("${vacation-pay.parallel.parallelism:0}") int parallelism,
+                                       @Value("${vacation-pay.parallel.chunk-size:256}") int chunkSize) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = Math.max(1, chunkSize);
+        this.pool = new ForkJoinPool(this.parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("vacation-pay-calc-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        logger.info("Parallel calculation executor started with parallelism {} and chunk size {}",
+                this.parallelism, this.chunkSize);
+    }
+
+    /**
+     * Applies the function to every item and returns the results in the order of the items.
+     * Large inputs are split into chunks that are calculated in parallel.
+     *
+     * @param items Input items
+     * @param function Function of the item position and the item
+     * @return Results in the order of the items
+     */
+    public <T, R> List<R> map(List<T> items, BiFunction<Integer, T, R> function) {
+        Object[] results = new Object[items.size()];
+
+        if (items.size() <= chunkSize || parallelism == 1) {
+            for (int index = 0; index < results.length; index++) {
+                results[index] = function.apply(index, items.get(index));
+            }
+        } else {
+            pool.invoke(new MapTask<>(items, function, results, 0, items.size(), chunkSize));
+        }
+
+        @SuppressWarnings("unchecked")
+        List<R> resultList = (List<R>) Arrays.asList(results);
+        return resultList;
+    }
+
+    /**
+     * Returns the number of items that is worth buffering to keep every worker busy.
+     *
+     * @return Number of items per parallel window
+     */
+    public int getWindowSize() {
+        return parallelism * chunkSize;
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+
+    /**
+     * Splits the index range in halves until it fits a chunk.
+     */
+    private static final class MapTask<T, R> extends RecursiveAction {
+
+        private final List<T> items;
+        private final BiFunction<Integer, T, R> function;
+        private final Object[] results;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        MapTask(List<T> items, BiFunction<Integer, T, R> function, Object[] results,
+                int from, int to, int chunkSize) {
+            this.items = items;
+            this.function = function;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                for (int index = from; index < to; index++) {
+                    results[index] = function.apply(index, items.get(index));
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new MapTask<>(items, function, results, from, middle, chunkSize),
+                    new MapTask<>(items, function, results, middle, to, chunkSize));
+        }
+    }
+}
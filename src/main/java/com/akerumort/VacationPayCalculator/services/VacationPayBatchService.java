@@ -0,0 +1,91 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.akerumort.VacationPayCalculator.dto.VacationPayBatchItemResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayRequestDto;
+import com.akerumort.VacationPayCalculator.exceptions.CustomValidationException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class VacationPayBatchService {
+
+    private static final Logger logger = LogManager.getLogger(VacationPayBatchService.class);
+
+    /**
+     * Code of an item that failed for a reason other than the request, such as an unavailable audit journal.
+     */
+    public static final String INTERNAL_ERROR = "INTERNAL_ERROR";
+
+    private final VacationPayService vacationPayService;
+    private final Validator validator;
+    private final ParallelCalculationExecutor parallelCalculationExecutor;
+    private final EarningsHistoryStore earningsHistoryStore;
+
+    /**
+     * Calculates vacation pay for every request of a batch. An invalid item does not fail the batch:
+     * its errors are reported in place of the result. Large batches are calculated in parallel.
+     *
+     * @param requests Batch of vacation pay requests
+     * @return Per-item results in the order of the requests
+     */
+    public List<VacationPayBatchItemResponseDto> calculateBatch(List<VacationPayRequestDto> requests) {
+        logger.info("Calculating vacation pay batch of {} items", requests.size());
+
+        return parallelCalculationExecutor.map(requests, this::calculateItem);
+    }
+
+    /**
+     * Validates and calculates a single batch item. Any runtime failure of the item is reported as its errors,
+     * with the {@value #INTERNAL_ERROR} code when the request itself is not at fault; only an {@link Error} aborts
+     * the batch.
+     *
+     * @param index Position of the item in the batch
+     * @param request Vacation pay request
+     * @return Item result or item errors
+     */
+    public VacationPayBatchItemResponseDto calculateItem(long index, VacationPayRequestDto request) {
+        if (request == null) {
+            return new VacationPayBatchItemResponseDto(index, null, Map.of("error", "Request item cannot be null"));
+        }
+
+        Set<ConstraintViolation<VacationPayRequestDto>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            Map<String, String> errors = new HashMap<>();
+            violations.forEach(violation ->
+                    errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+            return new VacationPayBatchItemResponseDto(index, null, errors);
+        }
+
+        try {
+            VacationPayResult result = vacationPayService.evaluate(
+                    earningsHistoryStore.resolveAverageSalary(request.getAverageSalary(), request.getEmployeeId()),
+                    request.getVacationDays(),
+                    request.getVacationDates(),
+                    request.getVacationStartDate(),
+                    request.getVacationEndDate(),
+                    request.getVacationPeriods(),
+                    request.getEmployeeId()
+            );
+            if (result.isRejected()) {
+                return new VacationPayBatchItemResponseDto(index, null, result.error().getPayload());
+            }
+            return new VacationPayBatchItemResponseDto(index, result.response(), null);
+        } catch (CustomValidationException ex) {
+            return new VacationPayBatchItemResponseDto(index, null, Map.of("error", ex.getMessage()));
+        } catch (RuntimeException ex) {
+            logger.error("Batch item {} failed", index, ex);
+            return new VacationPayBatchItemResponseDto(index, null,
+                    Map.of("error", "Internal error: " + ex.getMessage(), "code", INTERNAL_ERROR));
+        }
+    }
+}
@@ -0,0 +1,565 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.akerumort.VacationPayCalculator.dto.DetailedVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.SimpleVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayBatchItemResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayRequestDto;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class VacationPayBulkService {
+
+    private static final Logger logger = LogManager.getLogger(VacationPayBulkService.class);
+    private static final String CSV_ARRAY_SEPARATOR = ";";
+    private static final int SKIP_BUFFER_SIZE = 8192;
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .build();
+
+    // The parser reads the column names from the header row, so quoted names are unquoted like the values
+    private static final ObjectReader CSV_REQUEST_READER = CSV_MAPPER.readerFor(VacationPayRequestDto.class)
+            .with(CsvSchema.emptySchema().withHeader().withArrayElementSeparator(CSV_ARRAY_SEPARATOR));
+    private static final ObjectWriter CSV_RESULT_WRITER = CSV_MAPPER.writerFor(CsvResultRow.class)
+            .with(CSV_MAPPER.schemaFor(CsvResultRow.class).withHeader());
+    private static final ObjectWriter CSV_RESULT_ROWS_WRITER = CSV_MAPPER.writerFor(CsvResultRow.class)
+            .with(CSV_MAPPER.schemaFor(CsvResultRow.class));
+
+    private final VacationPayBatchService vacationPayBatchService;
+    private final ObjectMapper objectMapper;
+    private final ParallelCalculationExecutor parallelCalculationExecutor;
+    private final ObjectReader ndjsonRequestReader;
+    private final long maxRowLength;
+
+    /**
+     * @param vacationPayBatchService Calculation of a single row
+     * @param objectMapper Mapper of newline-delimited JSON rows
+     * @param parallelCalculationExecutor Executor whose window size is the number of rows read at once
+     * @param maxRowLength Longest accepted row, with its line break
+     */
+    public VacationPayBulkService(VacationPayBatchService vacationPayBatchService, ObjectMapper objectMapper,
+                                  ParallelCalculationExecutor parallelCalculationExecutor,
+                                  @Value("${vacation-pay.bulk.max-row-length:64KB}") DataSize maxRowLength) {
+        this.vacationPayBatchService = vacationPayBatchService;
+        this.objectMapper = objectMapper;
+        this.parallelCalculationExecutor = parallelCalculationExecutor;
+        this.ndjsonRequestReader = objectMapper.readerFor(VacationPayRequestDto.class)
+                .without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        this.maxRowLength = Math.max(1, maxRowLength.toBytes());
+    }
+
+    /**
+     * Supported formats of bulk input and output.
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String mediaType;
+
+        Format(String mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        /**
+         * Selects the format of a request content type.
+         *
+         * @param contentType Content type of the request
+         * @return CSV for {@code text/csv}, otherwise newline-delimited JSON
+         */
+        public static Format of(String contentType) {
+            return MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(CSV.mediaType))
+                    ? CSV
+                    : NDJSON;
+        }
+    }
+
+    /**
+     * Receives the progress of a bulk calculation.
+     */
+    @FunctionalInterface
+    public interface WindowListener {
+
+        /**
+         * Called after the results of a window were written and the output was flushed.
+         *
+         * @param rows Number of rows read so far, including the skipped ones
+         * @param bytes Number of input bytes read so far; the parser reads ahead, so they can include following
+         *              rows
+         * @return Whether to go on with the next window
+         * @throws IOException If the progress cannot be recorded
+         */
+        boolean windowWritten(long rows, long bytes) throws IOException;
+    }
+
+    /**
+     * Calculates vacation pay for every row of the input and writes one result row per input row.
+     *
+     * @param input Input rows, UTF-8 encoded; it is not closed
+     * @param output Destination of the result rows; it is flushed but not closed
+     * @param format Format of both input and output
+     * @return Number of processed rows
+     * @throws RowTooLongException If a row is longer than the maximum row length
+     * @throws IOException If reading the input or writing the output fails
+     * @see #calculateBulk(InputStream, OutputStream, Format, long, WindowListener)
+     */
+    public long calculateBulk(InputStream input, OutputStream output, Format format) throws IOException {
+        return calculateBulk(input, output, format, 0, (rows, bytes) -> true);
+    }
+
+    /**
+     * Calculates vacation pay for the rows of the input after the skipped ones and writes one result row per
+     * calculated row. Rows are parsed from the stream one record at a time, so a CSV value may contain quoted line
+     * breaks and a JSON row may span lines. They are calculated and written in bounded windows, so memory use does
+     * not depend on the size of the input, and no row longer than the maximum row length is read into memory.
+     * <p>
+     * A row that cannot be parsed or calculated is reported in place of its result. After a JSON syntax error
+     * reading resumes at the next line. A row longer than the maximum row length is reported as the last result
+     * row, because the end of a longer row is not looked for, and then fails the calculation.
+     *
+     * @param input Input rows, UTF-8 encoded; it is not closed
+     * @param output Destination of the result rows; it is flushed but not closed
+     * @param format Format of both input and output
+     * @param skipRows Number of rows at the start of the input that were calculated before; they are read but not
+     *                 calculated, and the CSV header row is only written when no row is skipped
+     * @param listener Progress listener, which can stop the calculation after a window
+     * @return Number of rows read, including the skipped ones
+     * @throws RowTooLongException If a row is longer than the maximum row length; the results up to it are written
+     * @throws IOException If reading the input or writing the output fails
+     */
+    public long calculateBulk(InputStream input, OutputStream output, Format format, long skipRows,
+                              WindowListener listener) throws IOException {
+        long rows = 0;
+        try (RowReader reader = new RowReader(input, format)) {
+            if (reader.isEmpty()) {
+                return 0;
+            }
+            while (rows < skipRows && reader.next() != null) {
+                rows++;
+            }
+
+            try (ResultWriter writer = resultWriter(output, format, skipRows == 0)) {
+                int windowSize = parallelCalculationExecutor.getWindowSize();
+                List<Row> window;
+                while (!(window = reader.readWindow(windowSize)).isEmpty()) {
+                    for (VacationPayBatchItemResponseDto result : calculateWindow(rows, window)) {
+                        writer.write(result);
+                    }
+                    rows += window.size();
+                    writer.flush();
+                    if (reader.failure != null) {
+                        throw reader.failure;
+                    }
+                    if (!listener.windowWritten(rows, reader.input.position())) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            output.flush();
+        }
+        logger.info("Processed {} bulk rows in {} format", rows, format);
+        return rows;
+    }
+
+    private ResultWriter resultWriter(OutputStream output, Format format, boolean header) throws IOException {
+        if (format == Format.CSV) {
+            SequenceWriter writer = (header ? CSV_RESULT_WRITER : CSV_RESULT_ROWS_WRITER).writeValues(output);
+            return new ResultWriter() {
+                @Override
+                public void write(VacationPayBatchItemResponseDto result) throws IOException {
+                    writer.write(CsvResultRow.of(result));
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    writer.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    writer.close();
+                }
+            };
+        }
+
+        ObjectWriter writer = objectMapper.writerFor(VacationPayBatchItemResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        return new ResultWriter() {
+            @Override
+            public void write(VacationPayBatchItemResponseDto result) throws IOException {
+                writer.writeValue(generator, result);
+                generator.writeRaw('\n');
+            }
+
+            @Override
+            public void flush() throws IOException {
+                generator.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                generator.close();
+            }
+        };
+    }
+
+    /**
+     * Calculates a window of rows, in parallel when it is large enough.
+     *
+     * @param firstIndex Position of the first row of the window in the input
+     * @param window Rows of the window
+     * @return Row results in the order of the rows
+     */
+    private List<VacationPayBatchItemResponseDto> calculateWindow(long firstIndex, List<Row> window) {
+        return parallelCalculationExecutor.map(window, (offset, row) -> calculateRow(firstIndex + offset, row));
+    }
+
+    /**
+     * Calculates a single parsed row.
+     *
+     * @param index Position of the row in the input
+     * @param row Parsed row
+     * @return Row result or row errors
+     */
+    private VacationPayBatchItemResponseDto calculateRow(long index, Row row) {
+        if (row.error() != null) {
+            return new VacationPayBatchItemResponseDto(index, null, Map.of("error", row.error()));
+        }
+        return vacationPayBatchService.calculateItem(index, row.request());
+    }
+
+    /**
+     * Thrown when a bulk row is longer than the maximum row length.
+     */
+    public static final class RowTooLongException extends IOException {
+
+        public RowTooLongException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Destination of the result rows.
+     */
+    private interface ResultWriter extends Closeable {
+
+        void write(VacationPayBatchItemResponseDto result) throws IOException;
+
+        /**
+         * Writes the buffered results and flushes the output.
+         */
+        void flush() throws IOException;
+    }
+
+    /**
+     * A parsed request row, or the reason it could not be parsed.
+     */
+    private record Row(VacationPayRequestDto request, String error) {
+    }
+
+    /**
+     * Reader of the request rows of a bulk input. A row that cannot be parsed becomes an error row. A row longer
+     * than the maximum row length becomes the last row, and the failure is kept for after its window.
+     */
+    private final class RowReader implements Closeable {
+
+        private final ObjectReader requestReader;
+        private final Format format;
+        private final RowInputStream input;
+        private JsonParser parser;
+        private MappingIterator<VacationPayRequestDto> requests;
+        private long rows;
+        private RowTooLongException failure;
+
+        RowReader(InputStream input, Format format) throws IOException {
+            this.requestReader = format == Format.CSV ? CSV_REQUEST_READER : ndjsonRequestReader;
+            this.format = format;
+            this.input = new RowInputStream(input, maxRowLength);
+            open();
+        }
+
+        /**
+         * @return Whether the input has no bytes at all
+         */
+        boolean isEmpty() throws IOException {
+            return rows == 0 && input.position() == 0 && !input.hasMore();
+        }
+
+        /**
+         * Reads the next rows, at most as many as the parallel executor can keep busy at once.
+         *
+         * @param windowSize Largest number of rows
+         * @return Next rows; empty at the end of the input
+         * @throws IOException If reading fails
+         */
+        List<Row> readWindow(int windowSize) throws IOException {
+            List<Row> window = new ArrayList<>(Math.min(windowSize, 1024));
+            Row row;
+            while (window.size() < windowSize && (row = next()) != null) {
+                window.add(row);
+            }
+            return window;
+        }
+
+        /**
+         * Reads the next row.
+         *
+         * @return Next row, or null at the end of the input or after a row longer than the maximum row length
+         * @throws IOException If reading fails
+         */
+        Row next() throws IOException {
+            if (failure != null) {
+                return null;
+            }
+
+            input.startRow(rows);
+            Row row;
+            try {
+                row = read();
+            } catch (RowTooLongException ex) {
+                failure = ex;
+                row = new Row(null, ex.getMessage() + ", the rest of the input was not read");
+            }
+            if (row != null) {
+                rows++;
+            }
+            return row;
+        }
+
+        private Row read() throws IOException {
+            try {
+                return requests.hasNextValue() ? new Row(requests.nextValue(), null) : null;
+            } catch (JsonProcessingException ex) {
+                if (format == Format.CSV && ((CsvParser) parser).getSchema().size() == 0) {
+                    // Without the column names no row can be read
+                    throw ex;
+                }
+                // The iterator skips the rest of a value it cannot bind, and the CSV parser the rest of a record
+                // it cannot parse, but the JSON parser cannot find the start of the next value after a syntax
+                // error, which the deserializer may have wrapped
+                if (format == Format.NDJSON
+                        && (ex instanceof StreamReadException || ex.getCause() instanceof StreamReadException)) {
+                    restartAtNextLine();
+                }
+                return new Row(null, "Invalid row format. Details: " + ex.getOriginalMessage());
+            }
+        }
+
+        /**
+         * Replaces the JSON parser after a syntax error with one that starts at the next line.
+         */
+        private void restartAtNextLine() throws IOException {
+            ByteArrayOutputStream buffered = new ByteArrayOutputStream();
+            parser.releaseBuffered(buffered);
+            close();
+            input.unread(buffered.toByteArray());
+            input.skipLine();
+            open();
+        }
+
+        /**
+         * Creates the parser of the rest of the input. Reading starts with the first row, so that an error in it
+         * becomes the error of the row.
+         */
+        private void open() throws IOException {
+            parser = requestReader.createParser(input);
+            requests = requestReader.readValues(parser);
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+
+    /**
+     * Input of the parser that limits the bytes read for one row. The parser reads ahead, so the part of a row
+     * read together with the previous rows is not counted: a row is rejected only when it is longer than the
+     * limit. Bytes released by a parser can be given back to be read again.
+     */
+    private static final class RowInputStream extends FilterInputStream {
+
+        private final long maxRowLength;
+        private long position;
+        private long rowEnd;
+        private long row;
+        private byte[] unread = new byte[0];
+        private int unreadOffset;
+
+        RowInputStream(InputStream input, long maxRowLength) {
+            super(input);
+            this.maxRowLength = maxRowLength;
+            this.rowEnd = maxRowLength;
+        }
+
+        /**
+         * @return Number of bytes read from the input
+         */
+        long position() {
+            return position;
+        }
+
+        /**
+         * Starts the byte limit of the next row.
+         *
+         * @param index Position of the row in the input
+         */
+        void startRow(long index) {
+            row = index;
+            rowEnd = position + maxRowLength;
+        }
+
+        /**
+         * @return Whether a byte can be read, which is then kept to be read again
+         */
+        boolean hasMore() throws IOException {
+            byte[] next = new byte[1];
+            if (read(next, 0, 1) <= 0) {
+                return false;
+            }
+            unread(next);
+            return true;
+        }
+
+        /**
+         * Puts bytes back in front of the remaining input.
+         */
+        void unread(byte[] bytes) {
+            byte[] remaining = new byte[bytes.length + unread.length - unreadOffset];
+            System.arraycopy(bytes, 0, remaining, 0, bytes.length);
+            System.arraycopy(unread, unreadOffset, remaining, bytes.length, unread.length - unreadOffset);
+            unread = remaining;
+            unreadOffset = 0;
+        }
+
+        /**
+         * Discards the input up to and including the next line break.
+         */
+        void skipLine() throws IOException {
+            byte[] buffer = new byte[SKIP_BUFFER_SIZE];
+            int read;
+            while ((read = read(buffer, 0, buffer.length)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        byte[] rest = new byte[read - i - 1];
+                        System.arraycopy(buffer, i + 1, rest, 0, rest.length);
+                        unread(rest);
+                        return;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) > 0 ? single[0] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (unreadOffset < unread.length) {
+                int read = Math.min(length, unread.length - unreadOffset);
+                System.arraycopy(unread, unreadOffset, buffer, offset, read);
+                unreadOffset += read;
+                return read;
+            }
+            if (position >= rowEnd) {
+                throw new RowTooLongException("Row " + row + " is longer than " + maxRowLength + " bytes");
+            }
+
+            int read = in.read(buffer, offset, (int) Math.min(length, rowEnd - position));
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            return count > 0 ? Math.max(0, read(new byte[(int) Math.min(count, SKIP_BUFFER_SIZE)])) : 0;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return unread.length - unreadOffset;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    /**
+     * Flat CSV representation of a row result.
+     */
+    @JsonPropertyOrder({"index", "vacationPay", "weekendsAndHolidays", "paidVacationDays", "error"})
+    private record CsvResultRow(long index, BigDecimal vacationPay, Integer weekendsAndHolidays,
+                                Integer paidVacationDays, String error) {
+
+        static CsvResultRow of(VacationPayBatchItemResponseDto item) {
+            if (item.getErrors() != null) {
+                String error = item.getErrors().entrySet().stream()
+                        .map(entry -> entry.getKey() + ": " + entry.getValue())
+                        .collect(Collectors.joining("; "));
+                return new CsvResultRow(item.getIndex(), null, null, null, error);
+            }
+            if (item.getResult() instanceof DetailedVacationPayResponseDto detailed) {
+                return new CsvResultRow(item.getIndex(), detailed.getVacationPay(),
+                        detailed.getWeekendsAndHolidays(), detailed.getPaidVacationDays(), null);
+            }
+            SimpleVacationPayResponseDto simple = (SimpleVacationPayResponseDto) item.getResult();
+            return new CsvResultRow(item.getIndex(), simple.getVacationPay(), null, null, null);
+        }
+    }
+}
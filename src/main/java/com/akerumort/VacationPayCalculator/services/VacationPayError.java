@@ -0,0 +1,45 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import java.util.Map;
+
+/**
+ * Expected reasons for rejecting a vacation pay request. The message and the error payload of each reason are
+ * built once, so a rejected request costs no more than a successful one. Messages keep the
+ * {@code "Unexpected error: "} prefix that clients have always received for these cases.
+ */
+public enum VacationPayError {
+
+    INCOMPLETE_PERIOD("Both start and end dates of the leave must be entered."),
+    REVERSED_PERIOD("The end date of the leave may not be earlier than the start date."),
+    DAYS_MISMATCH("The vacation days don't match the number of dates shown."),
+    DATES_OUTSIDE_PERIOD("Vacation dates don't match the provided start and end dates. " +
+            "Please ensure the dates match or choose one consistent method."),
+    DUPLICATE_DATES("Duplicate dates were found in the list of vacation dates."),
+    DATES_COUNT_MISMATCH("The number of vacation days does not match the provided vacation dates."),
+    PERIODS_WITH_DATES("Vacation periods cannot be combined with vacation dates or start and end dates."),
+    OVERLAPPING_PERIODS("Vacation periods may not overlap.");
+
+    private static final String MESSAGE_PREFIX = "Unexpected error: ";
+
+    private final String message;
+    private final Map<String, String> payload;
+
+    VacationPayError(String description) {
+        this.message = MESSAGE_PREFIX + description;
+        this.payload = Map.of("error", message);
+    }
+
+    /**
+     * @return Message returned to the client
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return Error map of a batch item, {@code {"error": message}}
+     */
+    public Map<String, String> getPayload() {
+        return payload;
+    }
+}
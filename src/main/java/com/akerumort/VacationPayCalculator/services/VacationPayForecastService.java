@@ -0,0 +1,62 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.akerumort.VacationPayCalculator.dto.VacationPayForecastResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayResponse;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forecasts vacation pay for every start date of a year and every vacation length up to a maximum. The weekends
+ * and holidays of all start date and length pairs come from one prefix sum table over the year and the days
+ * after it, and the amount depends only on the number of paid days, so it is calculated once per number of paid
+ * days rather than once per pair.
+ */
+@Service
+@RequiredArgsConstructor
+public class VacationPayForecastService {
+
+    private static final Logger logger = LogManager.getLogger(VacationPayForecastService.class);
+
+    private final HolidayCalendar holidayCalendar;
+    private final MoneyEngine moneyEngine;
+
+    /**
+     * Forecasts vacation pay for a year. The result for a vacation of {@code length} calendar days starting on
+     * day {@code i + 1} of the year is the same as for a start/end period request for these days.
+     *
+     * @param averageSalary Average salary
+     * @param year Year of the vacation start dates
+     * @param maxLength Longest vacation to forecast, in calendar days
+     * @return Paid vacation days by start date and length, and vacation pay by paid days
+     */
+    public VacationPayForecastResponseDto forecast(BigDecimal averageSalary, int year, int maxLength) {
+        int startDates = Year.of(year).length();
+        int[] cumulative = holidayCalendar.cumulativeCount(LocalDate.of(year, 1, 1), startDates + maxLength - 1);
+
+        int[][] paidVacationDays = new int[startDates][maxLength];
+        for (int start = 0; start < startDates; start++) {
+            int[] row = paidVacationDays[start];
+            int before = cumulative[start];
+            for (int length = 1; length <= maxLength; length++) {
+                row[length - 1] = length - (cumulative[start + length] - before);
+            }
+        }
+
+        List<BigDecimal> vacationPayByPaidDays = new ArrayList<>(maxLength + 1);
+        for (int paidDays = 0; paidDays <= maxLength; paidDays++) {
+            vacationPayByPaidDays.add(moneyEngine.calculateNetVacationPay(averageSalary, paidDays));
+        }
+
+        logger.info("Forecast vacation pay: year={}, maxLength={}", year, maxLength);
+        return new VacationPayForecastResponseDto(year, maxLength, vacationPayByPaidDays, paidVacationDays,
+                VacationPayResponse.TAX_MESSAGE);
+    }
+}
@@ -0,0 +1,450 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.akerumort.VacationPayCalculator.dto.VacationPayJobDto;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Asynchronous bulk calculation jobs. An upload is spooled to a job directory on disk and calculated by a fixed
+ * number of workers in the same windows and with the same results as a bulk stream. Results are appended to a
+ * file in the job directory, so neither the input nor the results are held in memory. The number of calculated
+ * rows and the end of their results are checkpointed in the job state file, and a job interrupted by a shutdown
+ * or a crash resumes from its checkpoint at the next startup.
+ * <p>
+ * Job directory: {@code input} (uploaded rows), {@code output} (result rows), {@code job.properties} (state and
+ * checkpoint).
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class VacationPayJobService implements DisposableBean {
+
+    private static final Logger logger = LogManager.getLogger(VacationPayJobService.class);
+
+    static final String INPUT_FILE = "input";
+    static final String OUTPUT_FILE = "output";
+    static final String STATE_FILE = "job.properties";
+
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+    private static final long SPOOL_TRANSFER_SIZE = 1024 * 1024;
+
+    private final VacationPayBulkService vacationPayBulkService;
+    private final Path directory;
+    private final int maxQueuedJobs;
+    private final long maxInputSize;
+    private final long checkpointRows;
+    private final Duration retention;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    private volatile boolean stopping;
+
+    /**
+     * Creates the job directory, starts the workers and resumes the jobs left unfinished by the previous run.
+     *
+     * @param vacationPayBulkService Calculation of the rows
+     * @param directory Directory of the job directories
+     * @param workers Number of jobs processed at the same time
+     * @param maxQueuedJobs Number of jobs that may wait for a worker before new jobs are rejected
+     * @param maxInputSize Largest accepted upload
+     * @param checkpointRows Number of rows between checkpoints
+     * @param retention Time a finished job is kept after it finished; zero or negative keeps finished jobs
+     * @throws IllegalStateException If the job directory cannot be created or read
+     */
+    public VacationPayJobService(VacationPayBulkService vacationPayBulkService,
+                                 @Value("${vacation-pay.jobs.directory:${java.io.tmpdir}/vacation-pay-jobs}")
+                                 String directory,
+                                 @Value("${vacation-pay.jobs.workers:1}") int workers,
+                                 @Value("${vacation-pay.jobs.max-queued:100}") int maxQueuedJobs,
+                                 @Value("${vacation-pay.jobs.max-input-size:1GB}") DataSize maxInputSize,
+                                 @Value("${vacation-pay.jobs.checkpoint-rows:10000}") long checkpointRows,
+                                 @Value("${vacation-pay.jobs.retention:24h}") Duration retention) {
+        this.vacationPayBulkService = vacationPayBulkService;
+        this.directory = Path.of(directory);
+        this.maxQueuedJobs = maxQueuedJobs;
+        this.maxInputSize = maxInputSize.toBytes();
+        this.checkpointRows = Math.max(1, checkpointRows);
+        this.retention = retention;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(Math.max(1, workers), Math.max(1, workers), 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> new Thread(runnable, "vacation-pay-job-" + threadNumber.getAndIncrement()));
+
+        try {
+            Files.createDirectories(this.directory);
+            resume();
+        } catch (IOException | RuntimeException ex) {
+            this.workers.shutdown();
+            throw new IllegalStateException("Cannot read calculation jobs from " + directory, ex);
+        }
+    }
+
+    /**
+     * Spools the rows to disk and queues them for calculation.
+     *
+     * @param input Input rows, UTF-8 encoded; it is read to the end but not closed
+     * @param format Format of both input and output
+     * @return Status of the queued job
+     * @throws RejectedExecutionException If too many jobs are waiting for a worker
+     * @throws InputTooLargeException If the input is larger than the maximum input size
+     * @throws IOException If the input cannot be read or spooled
+     */
+    public VacationPayJobDto submit(InputStream input, VacationPayBulkService.Format format) throws IOException {
+        purgeExpired();
+        if (workers.getQueue().size() >= maxQueuedJobs) {
+            throw new RejectedExecutionException("Too many calculation jobs are waiting, try again later.");
+        }
+
+        String id = UUID.randomUUID().toString();
+        Path jobDirectory = directory.resolve(id);
+        Files.createDirectory(jobDirectory);
+        try {
+            long inputBytes = spool(input, jobDirectory.resolve(INPUT_FILE));
+            Job job = new Job(id, jobDirectory, format, inputBytes);
+            job.writeState();
+            jobs.put(id, job);
+            workers.execute(() -> process(job));
+            logger.info("Queued calculation job {} with {} bytes of {} input", id, inputBytes, format);
+            return job.toDto();
+        } catch (IOException | RuntimeException ex) {
+            jobs.remove(id);
+            delete(jobDirectory);
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns the status of a job.
+     *
+     * @param id Job identifier
+     * @return Job status, or empty if there is no such job
+     */
+    public Optional<VacationPayJobDto> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(Job::toDto);
+    }
+
+    /**
+     * Returns the result file of a completed job.
+     *
+     * @param id Job identifier
+     * @return Result rows in the format of the input, or empty if there is no such job or it is not completed
+     */
+    public Optional<Path> getResult(String id) {
+        Job job = jobs.get(id);
+        return job != null && job.state == VacationPayJobDto.State.COMPLETED
+                ? Optional.of(job.directory.resolve(OUTPUT_FILE))
+                : Optional.empty();
+    }
+
+    /**
+     * Stops the workers after the window they are calculating. Running jobs are checkpointed, queued jobs are not
+     * started, and both are resumed at the next startup.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        stopping = true;
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Calculation jobs did not stop in time, they resume from their last checkpoint");
+        }
+    }
+
+    /**
+     * Loads the jobs of the job directory and queues the unfinished ones. A directory without a state file is an
+     * upload that was not accepted and is deleted. A job that cannot be read is skipped and left on disk.
+     *
+     * @throws IOException If the job directory cannot be read
+     */
+    private void resume() throws IOException {
+        try (DirectoryStream<Path> jobDirectories = Files.newDirectoryStream(directory, Files::isDirectory)) {
+            for (Path jobDirectory : jobDirectories) {
+                if (!Files.exists(jobDirectory.resolve(STATE_FILE))) {
+                    delete(jobDirectory);
+                    continue;
+                }
+
+                Job job;
+                try {
+                    job = Job.read(jobDirectory);
+                } catch (IOException | RuntimeException ex) {
+                    logger.error("Skipping unreadable calculation job {}: {}", jobDirectory, ex.toString());
+                    continue;
+                }
+                jobs.put(job.id, job);
+                if (!job.isFinished()) {
+                    logger.info("Resuming calculation job {} from row {}", job.id, job.checkpointedRows);
+                    workers.execute(() -> process(job));
+                }
+            }
+        }
+        purgeExpired();
+    }
+
+    /**
+     * Copies the upload to a file without passing it through the heap. At most one byte over the maximum input
+     * size is read, so an oversized upload is not written to disk.
+     *
+     * @param input Upload
+     * @param file Spool file
+     * @return Number of spooled bytes
+     * @throws InputTooLargeException If the upload is larger than the maximum input size
+     * @throws IOException If reading or writing fails
+     */
+    private long spool(InputStream input, Path file) throws IOException {
+        ReadableByteChannel source = Channels.newChannel(input);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long size = 0;
+            long transferred;
+            while ((transferred = channel.transferFrom(source, size,
+                    Math.min(SPOOL_TRANSFER_SIZE, maxInputSize + 1 - size))) > 0) {
+                size += transferred;
+                if (size > maxInputSize) {
+                    throw new InputTooLargeException("Job input exceeds " + maxInputSize + " bytes");
+                }
+            }
+            channel.force(false);
+            return size;
+        }
+    }
+
+    /**
+     * Calculates a job from its last checkpoint to the end of the input, or until the service stops. The rows up
+     * to the checkpoint are read again but not calculated, and output written after the checkpoint by an
+     * interrupted run is discarded and calculated again.
+     *
+     * @param job Job to calculate
+     */
+    private void process(Job job) {
+        if (stopping) {
+            return;
+        }
+        long start = System.nanoTime();
+        job.state = VacationPayJobDto.State.RUNNING;
+        try (InputStream input = Files.newInputStream(job.directory.resolve(INPUT_FILE));
+             FileChannel output = FileChannel.open(job.directory.resolve(OUTPUT_FILE), StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE)) {
+            output.truncate(job.outputOffset);
+            output.position(job.outputOffset);
+            OutputStream results = new BufferedOutputStream(Channels.newOutputStream(output), IO_BUFFER_SIZE);
+            job.writeState();
+
+            long rows = vacationPayBulkService.calculateBulk(input, results, job.format, job.checkpointedRows,
+                    (processedRows, processedBytes) -> {
+                        job.processedRows = processedRows;
+                        job.processedBytes = processedBytes;
+                        if (processedRows - job.checkpointedRows >= checkpointRows) {
+                            checkpoint(job, results, output, processedBytes, processedRows);
+                        }
+                        return !stopping;
+                    });
+            checkpoint(job, results, output, job.processedBytes, rows);
+            if (stopping) {
+                logger.info("Suspended calculation job {} at row {}", job.id, rows);
+                return;
+            }
+            complete(job, start);
+        } catch (VacationPayBulkService.RowTooLongException ex) {
+            // The row would fail every resumed run as well, so the job fails even while the service stops
+            fail(job, ex.getMessage() + ", the limit of vacation-pay.bulk.max-row-length");
+        } catch (IOException | RuntimeException ex) {
+            if (stopping) {
+                logger.info("Interrupted calculation job {}, it resumes from row {}", job.id, job.checkpointedRows);
+                return;
+            }
+            fail(job, ex.getMessage());
+        }
+    }
+
+    private static void fail(Job job, String error) {
+        logger.error("Calculation job {} failed at row {}: {}", job.id, job.checkpointedRows, error);
+        job.state = VacationPayJobDto.State.FAILED;
+        job.error = error;
+        job.finishedAt = System.currentTimeMillis();
+        try {
+            job.writeState();
+        } catch (IOException stateEx) {
+            logger.error("Cannot record the failure of calculation job {}: {}", job.id, stateEx.getMessage());
+        }
+    }
+
+    /**
+     * Makes the results written so far durable and then records their end and the input position as the point
+     * to resume from.
+     */
+    private static void checkpoint(Job job, OutputStream results, FileChannel output, long inputOffset, long rows)
+            throws IOException {
+        results.flush();
+        output.force(false);
+        job.inputOffset = inputOffset;
+        job.outputOffset = output.position();
+        job.checkpointedRows = rows;
+        job.writeState();
+    }
+
+    private static void complete(Job job, long start) throws IOException {
+        job.state = VacationPayJobDto.State.COMPLETED;
+        job.processedBytes = job.inputBytes;
+        job.finishedAt = System.currentTimeMillis();
+        job.writeState();
+        logger.info("Completed calculation job {}: {} rows in {} ms", job.id, job.processedRows,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Deletes the finished jobs that are older than the retention time.
+     */
+    private void purgeExpired() {
+        if (retention.isZero() || retention.isNegative()) {
+            return;
+        }
+
+        long expiredBefore = System.currentTimeMillis() - retention.toMillis();
+        for (Job job : jobs.values()) {
+            if (job.isFinished() && job.finishedAt < expiredBefore && jobs.remove(job.id, job)) {
+                delete(job.directory);
+                logger.info("Deleted expired calculation job {}", job.id);
+            }
+        }
+    }
+
+    private static void delete(Path jobDirectory) {
+        try (Stream<Path> files = Files.walk(jobDirectory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException ex) {
+            logger.warn("Cannot delete calculation job directory {}: {}", jobDirectory, ex.getMessage());
+        }
+    }
+
+    /**
+     * Thrown when an upload is larger than the maximum input size.
+     */
+    public static final class InputTooLargeException extends IOException {
+
+        public InputTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * State of a job. The progress fields are updated after every window; the offsets and the row count of the
+     * checkpoint only when the results up to them are on disk.
+     */
+    private static final class Job {
+
+        private final String id;
+        private final Path directory;
+        private final VacationPayBulkService.Format format;
+        private final long inputBytes;
+
+        private volatile VacationPayJobDto.State state = VacationPayJobDto.State.QUEUED;
+        private volatile long processedRows;
+        private volatile long processedBytes;
+        private volatile String error;
+        private volatile long finishedAt;
+
+        private long checkpointedRows;
+        private long inputOffset;
+        private long outputOffset;
+
+        Job(String id, Path directory, VacationPayBulkService.Format format, long inputBytes) {
+            this.id = id;
+            this.directory = directory;
+            this.format = format;
+            this.inputBytes = inputBytes;
+        }
+
+        static Job read(Path directory) throws IOException {
+            Properties properties = new Properties();
+            properties.load(new StringReader(Files.readString(directory.resolve(STATE_FILE))));
+
+            Job job = new Job(directory.getFileName().toString(), directory,
+                    VacationPayBulkService.Format.valueOf(properties.getProperty("format")),
+                    Files.size(directory.resolve(INPUT_FILE)));
+            job.state = VacationPayJobDto.State.valueOf(properties.getProperty("state"));
+            job.checkpointedRows = Long.parseLong(properties.getProperty("rows"));
+            job.inputOffset = Long.parseLong(properties.getProperty("inputOffset"));
+            job.outputOffset = Long.parseLong(properties.getProperty("outputOffset"));
+            job.finishedAt = Long.parseLong(properties.getProperty("finishedAt", "0"));
+            job.error = properties.getProperty("error");
+            job.processedRows = job.checkpointedRows;
+            job.processedBytes = job.isFinished() && job.error == null ? job.inputBytes : job.inputOffset;
+            return job;
+        }
+
+        boolean isFinished() {
+            return state == VacationPayJobDto.State.COMPLETED || state == VacationPayJobDto.State.FAILED;
+        }
+
+        /**
+         * Replaces the state file atomically, so that a crash leaves either the previous or the new checkpoint.
+         */
+        void writeState() throws IOException {
+            Properties properties = new Properties();
+            properties.setProperty("format", format.name());
+            properties.setProperty("state", state.name());
+            properties.setProperty("rows", Long.toString(checkpointedRows));
+            properties.setProperty("inputOffset", Long.toString(inputOffset));
+            properties.setProperty("outputOffset", Long.toString(outputOffset));
+            properties.setProperty("finishedAt", Long.toString(finishedAt));
+            if (error != null) {
+                properties.setProperty("error", error);
+            }
+            StringWriter content = new StringWriter();
+            properties.store(content, null);
+
+            Path temporary = directory.resolve(STATE_FILE + ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.ISO_8859_1));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(temporary, directory.resolve(STATE_FILE), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        VacationPayJobDto toDto() {
+            return new VacationPayJobDto(id, state, format.getMediaType(), inputBytes, processedBytes,
+                    processedRows, error);
+        }
+    }
+}
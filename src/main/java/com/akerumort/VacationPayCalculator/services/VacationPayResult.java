@@ -0,0 +1,33 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.akerumort.VacationPayCalculator.dto.VacationPayResponse;
+
+/**
+ * Outcome of a calculation: either a response or the reason the request was rejected. Rejections are
+ * shared constants, one per {@link VacationPayError}.
+ *
+ * @param response Calculation result, null if rejected
+ * @param error Reason of the rejection, null if calculated
+ */
+public record VacationPayResult(VacationPayResponse response, VacationPayError error) {
+
+    private static final VacationPayResult[] REJECTED = new VacationPayResult[VacationPayError.values().length];
+
+    static {
+        for (VacationPayError error : VacationPayError.values()) {
+            REJECTED[error.ordinal()] = new VacationPayResult(null, error);
+        }
+    }
+
+    public static VacationPayResult of(VacationPayResponse response) {
+        return new VacationPayResult(response, null);
+    }
+
+    public static VacationPayResult rejected(VacationPayError error) {
+        return REJECTED[error.ordinal()];
+    }
+
+    public boolean isRejected() {
+        return error != null;
+    }
+}
@@ -0,0 +1,161 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.akerumort.VacationPayCalculator.dto.DetailedVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.SimpleVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayResponse;
+import com.akerumort.VacationPayCalculator.dto.VacationPeriodPayDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Optional bounded cache of calculation results keyed on a normalized request. An explicit list of
+ * consecutive dates and the equivalent start/end period share one entry. Only successful results are
+ * stored: a rejected request or a calculation that throws leaves the cache untouched. The response DTOs are
+ * mutable, so every caller gets its own copy of a cached response.
+ */
+@Component
+public class VacationPayResultCache {
+
+    private static final Logger logger = LogManager.getLogger(VacationPayResultCache.class);
+
+    private final Cache<CacheKey, VacationPayResult> cache;
+
+    public VacationPayResultCache(@Value("${vacation-pay.cache.enabled:false}") boolean enabled,
+                                  @Value("${vacation-pay.cache.maximum-size:10000}") long maximumSize,
+                                  @Value("${vacation-pay.cache.expire-after-write:10m}") Duration expireAfterWrite,
+                                  MeterRegistry meterRegistry) {
+        if (!enabled) {
+            this.cache = null;
+            return;
+        }
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "vacationPayResults");
+        logger.info("Vacation pay result cache enabled with maximum size {} and expiration {}",
+                maximumSize, expireAfterWrite);
+    }
+
+    /**
+     * Returns the cached result of an equivalent request or calculates and caches it. Results of different
+     * holiday calendars never share an entry.
+     *
+     * @param calendarVersion Version of the holiday calendar the calculation uses
+     * @param averageSalary Average salary
+     * @param vacationDays Number of vacation days
+     * @param vacationDates List of specific vacation dates
+     * @param vacationStartDate Start date of the vacation
+     * @param vacationEndDate End date of the vacation
+     * @param calculation Calculation of the result
+     * @return Calculation result or the reason the request was rejected
+     */
+    public VacationPayResult get(long calendarVersion, BigDecimal averageSalary, int vacationDays,
+                                 List<LocalDate> vacationDates, LocalDate vacationStartDate,
+                                 LocalDate vacationEndDate, Supplier<VacationPayResult> calculation) {
+        if (cache == null) {
+            return calculation.get();
+        }
+
+        CacheKey key = normalize(calendarVersion, averageSalary, vacationDays, vacationDates,
+                vacationStartDate, vacationEndDate);
+        if (key == null) {
+            return calculation.get();
+        }
+
+        // Concurrent callers of one key wait for a single calculation; a rejection is returned without an entry
+        VacationPayResult[] rejected = new VacationPayResult[1];
+        VacationPayResult result = cache.get(key, k -> {
+            VacationPayResult calculated = calculation.get();
+            if (calculated.isRejected()) {
+                rejected[0] = calculated;
+                return null;
+            }
+            return calculated;
+        });
+        return result != null ? copyOf(result) : rejected[0];
+    }
+
+    /**
+     * Copies a cached result, so that a caller changing its response does not change what others are served.
+     *
+     * @param result Cached result
+     * @return Result with a copy of the response
+     */
+    private static VacationPayResult copyOf(VacationPayResult result) {
+        if (result.response() instanceof DetailedVacationPayResponseDto detailed) {
+            List<VacationPeriodPayDto> periods = detailed.getPeriods() == null ? null
+                    : detailed.getPeriods().stream()
+                    .map(period -> new VacationPeriodPayDto(period.getStartDate(), period.getEndDate(),
+                            period.getVacationPay(), period.getWeekendsAndHolidays(), period.getPaidVacationDays()))
+                    .toList();
+            return VacationPayResult.of(new DetailedVacationPayResponseDto(detailed.getVacationPay(),
+                    detailed.getWeekendsAndHolidays(), detailed.getPaidVacationDays(), periods,
+                    detailed.getMessage()));
+        }
+        VacationPayResponse simple = result.response();
+        return VacationPayResult.of(new SimpleVacationPayResponseDto(simple.getVacationPay(), simple.getMessage()));
+    }
+
+    /**
+     * Builds the cache key of a request. A list of consecutive ascending dates is reduced to its first
+     * and last date, the same key as the equivalent start/end request.
+     *
+     * @return Cache key, or null if the request shape is not cacheable
+     */
+    private static CacheKey normalize(long calendarVersion, BigDecimal averageSalary, int vacationDays,
+                                      List<LocalDate> vacationDates, LocalDate vacationStartDate,
+                                      LocalDate vacationEndDate) {
+        if (averageSalary == null || (vacationStartDate == null) != (vacationEndDate == null)) {
+            return null;
+        }
+
+        BigDecimal salary = averageSalary.stripTrailingZeros();
+        if (vacationDates == null || vacationDates.isEmpty()) {
+            return new CacheKey(calendarVersion, salary, vacationDays, vacationStartDate, vacationEndDate, null);
+        }
+
+        LocalDate first = vacationDates.get(0);
+        LocalDate last = vacationDates.get(vacationDates.size() - 1);
+        if (first != null && last != null && isConsecutive(vacationDates)) {
+            if (vacationStartDate != null
+                    && (!vacationStartDate.equals(first) || !vacationEndDate.equals(last))) {
+                return null;
+            }
+            return new CacheKey(calendarVersion, salary, vacationDays, first, last, null);
+        }
+
+        if (vacationStartDate != null || vacationDates.contains(null)) {
+            return null;
+        }
+        return new CacheKey(calendarVersion, salary, vacationDays, null, null, List.copyOf(vacationDates));
+    }
+
+    private static boolean isConsecutive(List<LocalDate> vacationDates) {
+        long expected = vacationDates.get(0).toEpochDay();
+        for (LocalDate date : vacationDates) {
+            if (date == null || date.toEpochDay() != expected++) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record CacheKey(long calendarVersion, BigDecimal averageSalary, int vacationDays,
+                            LocalDate vacationStartDate, LocalDate vacationEndDate, List<LocalDate> vacationDates) {
+    }
+}
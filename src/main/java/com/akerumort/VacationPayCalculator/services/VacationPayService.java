@@ -1,30 +1,35 @@
 package com.akerumort.VacationPayCalculator.services;
 
+import com.akerumort.VacationPayCalculator.dto.VacationPayResponse;
+import com.akerumort.VacationPayCalculator.dto.VacationPeriodDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPeriodPayDto;
 import com.akerumort.VacationPayCalculator.exceptions.CustomValidationException;
 import com.akerumort.VacationPayCalculator.mappers.VacationPayMapper;
+import com.akerumort.VacationPayCalculator.metrics.VacationPayMetrics;
 import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.util.HashSet;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class VacationPayService {
 
     private static final Logger logger = LogManager.getLogger(VacationPayService.class);
-    private static final BigDecimal WORK_DAYS_IN_MONTH = new BigDecimal("29.3");
-    private static final BigDecimal TAX_RATE = new BigDecimal("0.13"); // НДФЛ 13%
-    private static final String TAX_MESSAGE = "Amount is calculated after deducting 13% tax.";
 
     private final VacationPayMapper vacationPayMapper;
+    private final HolidayCalendar holidayCalendar;
+    private final MoneyEngine moneyEngine;
+    private final VacationPayMetrics vacationPayMetrics;
+    private final VacationPayResultCache vacationPayResultCache;
+    private final AuditJournal auditJournal;
 
     /**
      * Calculates vacation pay considering the average salary, number of vacation days, and vacation dates.
@@ -35,27 +40,132 @@ public class VacationPayService {
      * @param vacationStartDate Start date of the vacation
      * @param vacationEndDate End date of the vacation
      * @return DTO with vacation pay calculation
+     * @throws CustomValidationException If the request is rejected or the calculation fails
      */
-    public Object calculateVacationPay(BigDecimal averageSalary, int vacationDays,
-                                       List<LocalDate> vacationDates,
-                                       LocalDate vacationStartDate,
-                                       LocalDate vacationEndDate) {
+    public VacationPayResponse calculateVacationPay(BigDecimal averageSalary, int vacationDays,
+                                                    List<LocalDate> vacationDates,
+                                                    LocalDate vacationStartDate,
+                                                    LocalDate vacationEndDate) {
+        VacationPayResult result = evaluate(averageSalary, vacationDays, vacationDates,
+                vacationStartDate, vacationEndDate);
+        if (result.isRejected()) {
+            throw new CustomValidationException(result.error().getMessage());
+        }
+        return result.response();
+    }
+
+    /**
+     * Calculates vacation pay, returning a rejected request as an error code instead of throwing.
+     *
+     * @param averageSalary Average salary
+     * @param vacationDays Number of vacation days
+     * @param vacationDates List of specific vacation dates
+     * @param vacationStartDate Start date of the vacation
+     * @param vacationEndDate End date of the vacation
+     * @return Calculation result or the reason the request was rejected
+     * @throws CustomValidationException If the calculation fails unexpectedly
+     */
+    public VacationPayResult evaluate(BigDecimal averageSalary, int vacationDays,
+                                      List<LocalDate> vacationDates,
+                                      LocalDate vacationStartDate,
+                                      LocalDate vacationEndDate) {
+        return evaluate(averageSalary, vacationDays, vacationDates, vacationStartDate, vacationEndDate, null, null);
+    }
 
-        logger.info("Calculating vacation pay with averageSalary: {}, vacationDays: {}, " +
-                        "vacationDates: {}, vacationStartDate: {}, vacationEndDate: {}",
-                averageSalary, vacationDays, vacationDates, vacationStartDate, vacationEndDate);
+    /**
+     * Calculates vacation pay, returning a rejected request as an error code instead of throwing. A vacation
+     * split into periods is given by the periods alone and is not cached. Every calculated payment, cached or
+     * not, is recorded in the audit journal. All lookups of one calculation use one snapshot of the holiday
+     * calendar, whose version keys the cache and is recorded in the journal.
+     *
+     * @param averageSalary Average salary
+     * @param vacationDays Number of vacation days
+     * @param vacationDates List of specific vacation dates
+     * @param vacationStartDate Start date of the vacation
+     * @param vacationEndDate End date of the vacation
+     * @param vacationPeriods Periods of a split vacation
+     * @param employeeId Employee id of the request, recorded in the audit journal, or null
+     * @return Calculation result or the reason the request was rejected
+     * @throws CustomValidationException If the calculation fails unexpectedly
+     * @throws IllegalStateException If the audit journal is enabled and has failed
+     */
+    public VacationPayResult evaluate(BigDecimal averageSalary, int vacationDays,
+                                      List<LocalDate> vacationDates,
+                                      LocalDate vacationStartDate,
+                                      LocalDate vacationEndDate,
+                                      List<VacationPeriodDto> vacationPeriods,
+                                      String employeeId) {
+        HolidayCalendar.Snapshot calendar = holidayCalendar.getSnapshot();
+        VacationPayResult result;
+        if (vacationPeriods != null && !vacationPeriods.isEmpty()) {
+            result = calculate(calendar, averageSalary, vacationDays, vacationDates, vacationStartDate,
+                    vacationEndDate, vacationPeriods);
+        } else {
+            result = vacationPayResultCache.get(calendar.getVersion(), averageSalary, vacationDays, vacationDates,
+                    vacationStartDate, vacationEndDate, () -> calculate(calendar, averageSalary, vacationDays,
+                            vacationDates, vacationStartDate, vacationEndDate, null));
+        }
+
+        if (!result.isRejected()) {
+            auditJournal.record(calendar.getVersion(), averageSalary, employeeId, vacationDays, vacationDates,
+                    vacationStartDate, vacationEndDate, vacationPeriods, result.response());
+        }
+        return result;
+    }
+
+    /**
+     * Calculates vacation pay without consulting the result cache.
+     *
+     * @param calendar Holiday calendar snapshot of the calculation
+     * @param averageSalary Average salary
+     * @param vacationDays Number of vacation days
+     * @param vacationDates List of specific vacation dates
+     * @param vacationStartDate Start date of the vacation
+     * @param vacationEndDate End date of the vacation
+     * @param vacationPeriods Periods of a split vacation, or null
+     * @return Calculation result or the reason the request was rejected
+     */
+    private VacationPayResult calculate(HolidayCalendar.Snapshot calendar,
+                                        BigDecimal averageSalary, int vacationDays,
+                                        List<LocalDate> vacationDates,
+                                        LocalDate vacationStartDate,
+                                        LocalDate vacationEndDate,
+                                        List<VacationPeriodDto> vacationPeriods) {
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Calculating vacation pay with averageSalary: {}, vacationDays: {}, " +
+                            "vacationDates: {}, vacationStartDate: {}, vacationEndDate: {}",
+                    averageSalary, vacationDays, vacationDates, vacationStartDate, vacationEndDate);
+        }
 
         try {
-            validateDates(vacationStartDate, vacationEndDate);
+            if (vacationPeriods != null) {
+                if ((vacationDates != null && !vacationDates.isEmpty())
+                        || vacationStartDate != null || vacationEndDate != null) {
+                    return reject(VacationPayError.PERIODS_WITH_DATES);
+                }
+                return calculatePeriodsVacationPay(calendar, averageSalary, vacationDays, vacationPeriods);
+            }
+
+            long stageStart = System.nanoTime();
+            VacationPayError error = validateDates(vacationStartDate, vacationEndDate);
+            vacationPayMetrics.recordStage(VacationPayMetrics.Stage.VALIDATION, stageStart);
+            if (error != null) {
+                return reject(error);
+            }
 
             vacationDates = initializeVacationDates(vacationDates, vacationStartDate, vacationEndDate);
-            vacationDates = handleVacationDates(vacationDates, vacationStartDate, vacationEndDate, vacationDays);
-            checkForDuplicateDates(vacationDates);
+
+            if (vacationStartDate != null && vacationDates.isEmpty()) {
+                return calculateRangeVacationPay(calendar, averageSalary, vacationDays, vacationStartDate,
+                        vacationEndDate);
+            }
 
             if (vacationDates.isEmpty()) {
-                return calculateSimpleVacationPay(averageSalary, vacationDays);
+                return VacationPayResult.of(calculateSimpleVacationPay(averageSalary, vacationDays));
             } else {
-                return calculateDetailedVacationPay(averageSalary, vacationDays, vacationDates);
+                return calculateDetailedVacationPay(calendar, averageSalary, vacationDays, vacationDates,
+                        vacationStartDate, vacationEndDate);
             }
         } catch (ArithmeticException ex) {
             logger.error("Error calculating vacation pay: {}", ex.getMessage());
@@ -66,24 +176,37 @@ public class VacationPayService {
         }
     }
 
+    /**
+     * Reports a rejected request. Rejections are expected client errors, so they are only logged at debug level.
+     *
+     * @param error Reason of the rejection
+     * @return Rejected result
+     */
+    private VacationPayResult reject(VacationPayError error) {
+        logger.debug("Rejected vacation pay request: {}", error);
+        return VacationPayResult.rejected(error);
+    }
+
     /**
      * Validates the start and end dates of the vacation.
      *
      * @param vacationStartDate Start date of the vacation
      * @param vacationEndDate End date of the vacation
+     * @return Validation error, or null if the dates are valid
      */
-    private void validateDates(LocalDate vacationStartDate, LocalDate vacationEndDate) {
-        logger.info("Validating dates: vacationStartDate={}, vacationEndDate={}",
+    private VacationPayError validateDates(LocalDate vacationStartDate, LocalDate vacationEndDate) {
+        logger.trace("Validating dates: vacationStartDate={}, vacationEndDate={}",
                 vacationStartDate, vacationEndDate);
 
         if ((vacationStartDate != null && vacationEndDate == null) ||
                 (vacationEndDate != null && vacationStartDate == null)) {
-            throw new CustomValidationException("Both start and end dates of the leave must be entered.");
+            return VacationPayError.INCOMPLETE_PERIOD;
         }
 
         if (vacationStartDate != null && vacationEndDate != null && vacationEndDate.isBefore(vacationStartDate)) {
-            throw new CustomValidationException("The end date of the leave may not be earlier than the start date.");
+            return VacationPayError.REVERSED_PERIOD;
         }
+        return null;
     }
 
     /**
@@ -103,68 +226,89 @@ public class VacationPayService {
     }
 
     /**
-     * Processes and adjusts the list of vacation dates based on the provided start and end dates.
+     * Validates that the number of days in the vacation period matches the requested number of vacation days.
      *
-     * @param vacationDates List of vacation dates
-     * @param vacationStartDate Start date of the vacation
-     * @param vacationEndDate End date of the vacation
+     * @param periodDays Number of days in the vacation period
      * @param vacationDays Number of vacation days
-     * @return Processed list of vacation dates
+     * @return Validation error, or null if the numbers match
      */
-    private List<LocalDate> handleVacationDates(List<LocalDate> vacationDates, LocalDate vacationStartDate,
-                                                LocalDate vacationEndDate, int vacationDays) {
-
-        logger.info("Handling vacation dates...");
+    private VacationPayError validateRangeLength(long periodDays, int vacationDays) {
+        return periodDays != vacationDays ? VacationPayError.DAYS_MISMATCH : null;
+    }
 
-        if (vacationStartDate != null && vacationEndDate != null) {
-            List<LocalDate> generatedDates = vacationStartDate.datesUntil(vacationEndDate.plusDays(1)).toList();
+    /**
+     * Checks that the vacation dates are exactly the dates of the period, in order, and counts the weekends and
+     * holidays among them in the same pass.
+     *
+     * @param calendar Holiday calendar snapshot of the calculation
+     * @param vacationDates List of vacation dates
+     * @param startDate Start date of the vacation
+     * @param endDate End date of the vacation
+     * @return Number of weekends and holidays, or -1 if the dates do not match the period
+     */
+    private int countPeriodDates(HolidayCalendar.Snapshot calendar, List<LocalDate> vacationDates,
+                                 LocalDate startDate, LocalDate endDate) {
+        long expectedDay = startDate.toEpochDay();
+        if (vacationDates.size() != endDate.toEpochDay() - expectedDay + 1) {
+            return -1;
+        }
 
-            if (vacationDates.isEmpty()) {
-                vacationDates = generatedDates;
-                logger.info("Generated vacation dates: {}", vacationDates);
-            } else {
-                validateVacationDates(vacationDates, vacationStartDate, vacationEndDate);
+        int weekendsAndHolidays = 0;
+        for (LocalDate date : vacationDates) {
+            if (date == null || date.toEpochDay() != expectedDay++) {
+                return -1;
             }
-
-            if (vacationDates.size() != vacationDays) {
-                throw new CustomValidationException("The vacation days don't match the number of dates shown.");
+            if (calendar.isHolidayOrWeekend(date)) {
+                weekendsAndHolidays++;
             }
         }
-
-        return vacationDates;
+        return weekendsAndHolidays;
     }
 
     /**
-     * Validates that the provided vacation dates match the expected dates based on the start and end dates.
+     * Checks that the vacation dates are distinct and counts the weekends and holidays among them in the same
+     * pass. The dates may have gaps, so a vacation split into several parts is one request. A list in ascending
+     * order is distinct by construction; only an unordered list is sorted to look for duplicates.
      *
+     * @param calendar Holiday calendar snapshot of the calculation
      * @param vacationDates List of vacation dates
-     * @param startDate Start date of the vacation
-     * @param endDate End date of the vacation
+     * @return Number of weekends and holidays, or -1 if a date occurs more than once
      */
-    private void validateVacationDates(List<LocalDate> vacationDates, LocalDate startDate, LocalDate endDate) {
-        logger.info("Validating vacation dates: {}", vacationDates);
-
-        List<LocalDate> expectedDates = startDate.datesUntil(endDate.plusDays(1)).toList();
-
-        if (!vacationDates.equals(expectedDates)) {
-            throw new CustomValidationException("Vacation dates don't match the provided start and end dates. " +
-                    "Please ensure the dates match or choose one consistent method.");
+    private int countDistinctDates(HolidayCalendar.Snapshot calendar, List<LocalDate> vacationDates) {
+        int weekendsAndHolidays = 0;
+        boolean ascending = true;
+        long previousDay = Long.MIN_VALUE;
+        for (LocalDate date : vacationDates) {
+            long epochDay = date.toEpochDay();
+            if (epochDay <= previousDay) {
+                ascending = false;
+            }
+            previousDay = epochDay;
+            if (calendar.isHolidayOrWeekend(date)) {
+                weekendsAndHolidays++;
+            }
         }
+        return ascending || isDistinct(vacationDates) ? weekendsAndHolidays : -1;
     }
 
     /**
-     * Checks for duplicate dates in the list of vacation dates.
+     * Checks an unordered list of vacation dates for duplicates by sorting their epoch days.
      *
      * @param vacationDates List of vacation dates
+     * @return true if no date occurs more than once
      */
-    private void checkForDuplicateDates(List<LocalDate> vacationDates) {
-        logger.info("Checking for duplicate dates in vacationDates...");
-
-        Set<LocalDate> dateSet = new HashSet<>(vacationDates);
-
-        if (dateSet.size() < vacationDates.size()) {
-            throw new CustomValidationException("Duplicate dates were found in the list of vacation dates.");
+    private static boolean isDistinct(List<LocalDate> vacationDates) {
+        long[] epochDays = new long[vacationDates.size()];
+        for (int i = 0; i < epochDays.length; i++) {
+            epochDays[i] = vacationDates.get(i).toEpochDay();
+        }
+        Arrays.sort(epochDays);
+        for (int i = 1; i < epochDays.length; i++) {
+            if (epochDays[i] == epochDays[i - 1]) {
+                return false;
+            }
         }
+        return true;
     }
 
     /**
@@ -174,109 +318,204 @@ public class VacationPayService {
      * @param vacationDays Number of vacation days
      * @return DTO with vacation pay calculation
      */
-    private Object calculateSimpleVacationPay(BigDecimal averageSalary, int vacationDays) {
-        BigDecimal grossVacationPay = calculateGrossVacationPay(averageSalary, vacationDays);
-        BigDecimal vacationPay = calculateNetVacationPay(grossVacationPay);
-        logger.info("Calculated vacation pay without specific dates: {}", vacationPay);
-        return vacationPayMapper.toSimpleDto(vacationPay, TAX_MESSAGE);
+    private VacationPayResponse calculateSimpleVacationPay(BigDecimal averageSalary, int vacationDays) {
+        long stageStart = System.nanoTime();
+        BigDecimal vacationPay = moneyEngine.calculateNetVacationPay(averageSalary, vacationDays);
+        vacationPayMetrics.recordStage(VacationPayMetrics.Stage.MONEY_MATH, stageStart);
+        logger.info("Calculated vacation pay: vacationDays={}, vacationPay={}", vacationDays, vacationPay);
+        return vacationPayMapper.toSimpleDto(vacationPay, VacationPayResponse.TAX_MESSAGE);
     }
 
     /**
-     * Calculates vacation pay with consideration of specific dates.
+     * Calculates vacation pay with consideration of specific dates. The dates are validated and their weekends
+     * and holidays counted in a single pass.
      *
+     * @param calendar Holiday calendar snapshot of the calculation
      * @param averageSalary Average salary
      * @param vacationDays Number of vacation days
      * @param vacationDates List of vacation dates
-     * @return DTO with vacation pay calculation
+     * @param vacationStartDate Start date of the vacation, or null if the dates are given on their own
+     * @param vacationEndDate End date of the vacation, or null if the dates are given on their own
+     * @return Calculation result or the reason the request was rejected
      */
-    private Object calculateDetailedVacationPay(BigDecimal averageSalary, int vacationDays,
-                                                List<LocalDate> vacationDates) {
-        int weekendsAndHolidays = filterOutHolidaysAndWeekends(vacationDates);
-        int paidVacationDays = vacationDates.size() - weekendsAndHolidays;
-
-        if (vacationDays != (paidVacationDays + weekendsAndHolidays)) {
-            throw new CustomValidationException("The number of vacation days does not match " +
-                    "the provided vacation dates.");
+    private VacationPayResult calculateDetailedVacationPay(HolidayCalendar.Snapshot calendar,
+                                                           BigDecimal averageSalary, int vacationDays,
+                                                           List<LocalDate> vacationDates,
+                                                           LocalDate vacationStartDate, LocalDate vacationEndDate) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Validating vacation dates: {}", vacationDates);
         }
 
-        BigDecimal grossVacationPay = calculateGrossVacationPay(averageSalary, paidVacationDays);
-        BigDecimal vacationPay = calculateNetVacationPay(grossVacationPay);
+        long stageStart = System.nanoTime();
+        int weekendsAndHolidays;
+        if (vacationStartDate != null) {
+            weekendsAndHolidays = countPeriodDates(calendar, vacationDates, vacationStartDate, vacationEndDate);
+            if (weekendsAndHolidays < 0) {
+                return reject(VacationPayError.DATES_OUTSIDE_PERIOD);
+            }
+            VacationPayError error = validateRangeLength(vacationDates.size(), vacationDays);
+            if (error != null) {
+                return reject(error);
+            }
+        } else {
+            weekendsAndHolidays = countDistinctDates(calendar, vacationDates);
+            if (weekendsAndHolidays < 0) {
+                return reject(VacationPayError.DUPLICATE_DATES);
+            }
+        }
+        vacationPayMetrics.recordStage(VacationPayMetrics.Stage.HOLIDAY_FILTERING, stageStart);
+        vacationPayMetrics.recordRangeLength(vacationDates.size());
 
-        logger.info("Calculated vacation pay with specific dates: vacationPay={}, " +
-                        "weekendsAndHolidays={}, paidVacationDays={}",
-                vacationPay, weekendsAndHolidays, paidVacationDays);
-        return vacationPayMapper.toDetailedDto(vacationPay, weekendsAndHolidays, paidVacationDays, TAX_MESSAGE);
+        return calculateDetailedVacationPay(averageSalary, vacationDays, vacationDates.size(), weekendsAndHolidays);
     }
 
     /**
-     * Calculates gross vacation pay.
+     * Calculates vacation pay for a start/end period without expanding it into individual dates.
      *
+     * @param calendar Holiday calendar snapshot of the calculation
      * @param averageSalary Average salary
-     * @param days Number of paid days
-     * @return Gross vacation pay
+     * @param vacationDays Number of vacation days
+     * @param vacationStartDate Start date of the vacation
+     * @param vacationEndDate End date of the vacation
+     * @return Calculation result or the reason the request was rejected
      */
-    private BigDecimal calculateGrossVacationPay(BigDecimal averageSalary, int days) {
-        return averageSalary.divide(WORK_DAYS_IN_MONTH, 2, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(days));
-    }
+    private VacationPayResult calculateRangeVacationPay(HolidayCalendar.Snapshot calendar,
+                                                        BigDecimal averageSalary, int vacationDays,
+                                                        LocalDate vacationStartDate, LocalDate vacationEndDate) {
+        logger.trace("Handling vacation period {} - {}...", vacationStartDate, vacationEndDate);
+
+        long stageStart = System.nanoTime();
+        long periodDays = ChronoUnit.DAYS.between(vacationStartDate, vacationEndDate) + 1;
+        VacationPayError error = validateRangeLength(periodDays, vacationDays);
+        vacationPayMetrics.recordStage(VacationPayMetrics.Stage.DATE_EXPANSION, stageStart);
+        if (error != null) {
+            return reject(error);
+        }
+        vacationPayMetrics.recordRangeLength((int) periodDays);
 
-    /**
-     * Calculates net vacation pay after tax deduction.
-     *
-     * @param grossVacationPay Gross vacation pay
-     * @return Net vacation pay
-     */
-    private BigDecimal calculateNetVacationPay(BigDecimal grossVacationPay) {
-        BigDecimal taxAmount = grossVacationPay.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
-        return grossVacationPay.subtract(taxAmount);
+        stageStart = System.nanoTime();
+        int weekendsAndHolidays = calendar.countHolidaysAndWeekends(vacationStartDate, vacationEndDate);
+        vacationPayMetrics.recordStage(VacationPayMetrics.Stage.HOLIDAY_FILTERING, stageStart);
+
+        return calculateDetailedVacationPay(averageSalary, vacationDays, (int) periodDays, weekendsAndHolidays);
     }
 
     /**
-     * Filters out holidays and weekends from the list of vacation dates.
+     * Calculates vacation pay for a vacation split into periods, with a breakdown by period. The weekends and
+     * holidays of each period are counted from the calendar prefix sums. The amount of each period is calculated
+     * on its own, so the amounts of the periods may differ from the total by rounding.
      *
-     * @param vacationDates List of vacation dates
-     * @return Number of holidays and weekends
+     * @param calendar Holiday calendar snapshot of the calculation
+     * @param averageSalary Average salary
+     * @param vacationDays Number of vacation days
+     * @param vacationPeriods Periods of the vacation
+     * @return Calculation result or the reason the request was rejected
      */
-    private int filterOutHolidaysAndWeekends(List<LocalDate> vacationDates) {
-        logger.info("Filtering out holidays and weekends from vacationDates...");
-        return (int) vacationDates.stream().filter(this::isHolidayOrWeekend).count();
+    private VacationPayResult calculatePeriodsVacationPay(HolidayCalendar.Snapshot calendar,
+                                                          BigDecimal averageSalary, int vacationDays,
+                                                          List<VacationPeriodDto> vacationPeriods) {
+        long stageStart = System.nanoTime();
+        VacationPayError error = validatePeriods(vacationPeriods, vacationDays);
+        vacationPayMetrics.recordStage(VacationPayMetrics.Stage.VALIDATION, stageStart);
+        if (error != null) {
+            return reject(error);
+        }
+        vacationPayMetrics.recordRangeLength(vacationDays);
+
+        stageStart = System.nanoTime();
+        int[] periodWeekendsAndHolidays = new int[vacationPeriods.size()];
+        int weekendsAndHolidays = 0;
+        for (int i = 0; i < periodWeekendsAndHolidays.length; i++) {
+            VacationPeriodDto period = vacationPeriods.get(i);
+            periodWeekendsAndHolidays[i] = calendar.countHolidaysAndWeekends(period.getStartDate(),
+                    period.getEndDate());
+            weekendsAndHolidays += periodWeekendsAndHolidays[i];
+        }
+        vacationPayMetrics.recordStage(VacationPayMetrics.Stage.HOLIDAY_FILTERING, stageStart);
+
+        stageStart = System.nanoTime();
+        List<VacationPeriodPayDto> periods = new ArrayList<>(periodWeekendsAndHolidays.length);
+        for (int i = 0; i < periodWeekendsAndHolidays.length; i++) {
+            VacationPeriodDto period = vacationPeriods.get(i);
+            int periodDays = (int) ChronoUnit.DAYS.between(period.getStartDate(), period.getEndDate()) + 1;
+            int periodPaidDays = periodDays - periodWeekendsAndHolidays[i];
+            periods.add(new VacationPeriodPayDto(period.getStartDate(), period.getEndDate(),
+                    moneyEngine.calculateNetVacationPay(averageSalary, periodPaidDays),
+                    periodWeekendsAndHolidays[i], periodPaidDays));
+        }
+        int paidVacationDays = vacationDays - weekendsAndHolidays;
+        BigDecimal vacationPay = moneyEngine.calculateNetVacationPay(averageSalary, paidVacationDays);
+        vacationPayMetrics.recordStage(VacationPayMetrics.Stage.MONEY_MATH, stageStart);
+
+        logger.info("Calculated vacation pay: vacationDays={}, periods={}, weekendsAndHolidays={}, " +
+                        "paidVacationDays={}, vacationPay={}", vacationDays, periods.size(), weekendsAndHolidays,
+                paidVacationDays, vacationPay);
+        return VacationPayResult.of(vacationPayMapper.toDetailedDto(vacationPay, weekendsAndHolidays,
+                paidVacationDays, periods, VacationPayResponse.TAX_MESSAGE));
     }
 
     /**
-     * Checks if a given date is a holiday or weekend.
+     * Validates the periods of a split vacation. The periods are sorted by start date through keys that pack
+     * the start epoch day with the position of the period, and checked for overlap in one sweep.
      *
-     * @param date Date to check
-     * @return true if the date is a holiday or weekend; otherwise false
+     * @param vacationPeriods Periods of the vacation
+     * @param vacationDays Number of vacation days
+     * @return Validation error, or null if the periods are valid
      */
-    private boolean isHolidayOrWeekend(LocalDate date) {
-        return date.getDayOfWeek() == DayOfWeek.SATURDAY ||
-                date.getDayOfWeek() == DayOfWeek.SUNDAY ||
-                isPublicHoliday(date);
+    private VacationPayError validatePeriods(List<VacationPeriodDto> vacationPeriods, int vacationDays) {
+        int count = vacationPeriods.size();
+        long[] keys = new long[count];
+        long totalDays = 0;
+        for (int i = 0; i < count; i++) {
+            VacationPeriodDto period = vacationPeriods.get(i);
+            if (period == null || period.getStartDate() == null || period.getEndDate() == null) {
+                return VacationPayError.INCOMPLETE_PERIOD;
+            }
+            long startDay = period.getStartDate().toEpochDay();
+            long endDay = period.getEndDate().toEpochDay();
+            if (endDay < startDay) {
+                return VacationPayError.REVERSED_PERIOD;
+            }
+            totalDays += endDay - startDay + 1;
+            keys[i] = startDay * count + i;
+        }
+
+        Arrays.sort(keys);
+        long previousEndDay = Long.MIN_VALUE;
+        for (long key : keys) {
+            VacationPeriodDto period = vacationPeriods.get(Math.floorMod(key, count));
+            if (period.getStartDate().toEpochDay() <= previousEndDay) {
+                return VacationPayError.OVERLAPPING_PERIODS;
+            }
+            previousEndDay = period.getEndDate().toEpochDay();
+        }
+        return validateRangeLength(totalDays, vacationDays);
     }
 
     /**
-     * Checks if a given date is a public holiday.
+     * Calculates vacation pay from the number of vacation dates and the weekends and holidays among them.
      *
-     * @param date Date to check
-     * @return true if the date is a public holiday; otherwise false
+     * @param averageSalary Average salary
+     * @param vacationDays Number of vacation days
+     * @param totalDays Number of vacation dates
+     * @param weekendsAndHolidays Number of weekends and holidays among the vacation dates
+     * @return Calculation result or the reason the request was rejected
      */
-    private boolean isPublicHoliday(LocalDate date) {
-        Set<LocalDate> holidays = Set.of(
-                LocalDate.of(date.getYear(), 1, 1),
-                LocalDate.of(date.getYear(), 1, 2),
-                LocalDate.of(date.getYear(), 1, 3),
-                LocalDate.of(date.getYear(), 1, 4),
-                LocalDate.of(date.getYear(), 1, 5),
-                LocalDate.of(date.getYear(), 1, 6),
-                LocalDate.of(date.getYear(), 1, 7),
-                LocalDate.of(date.getYear(), 1, 8),
-                LocalDate.of(date.getYear(), 2, 23),
-                LocalDate.of(date.getYear(), 3, 8),
-                LocalDate.of(date.getYear(), 5, 1),
-                LocalDate.of(date.getYear(), 5, 9),
-                LocalDate.of(date.getYear(), 6, 12),
-                LocalDate.of(date.getYear(), 11, 4)
-        );
-        return holidays.contains(date);
+    private VacationPayResult calculateDetailedVacationPay(BigDecimal averageSalary, int vacationDays,
+                                                           int totalDays, int weekendsAndHolidays) {
+        int paidVacationDays = totalDays - weekendsAndHolidays;
+
+        if (vacationDays != (paidVacationDays + weekendsAndHolidays)) {
+            return reject(VacationPayError.DATES_COUNT_MISMATCH);
+        }
+
+        long stageStart = System.nanoTime();
+        BigDecimal vacationPay = moneyEngine.calculateNetVacationPay(averageSalary, paidVacationDays);
+        vacationPayMetrics.recordStage(VacationPayMetrics.Stage.MONEY_MATH, stageStart);
+
+        logger.info("Calculated vacation pay: vacationDays={}, weekendsAndHolidays={}, paidVacationDays={}, " +
+                "vacationPay={}", vacationDays, weekendsAndHolidays, paidVacationDays, vacationPay);
+        return VacationPayResult.of(vacationPayMapper.toDetailedDto(vacationPay, weekendsAndHolidays,
+                paidVacationDays, VacationPayResponse.TAX_MESSAGE));
     }
 }
@@ -0,0 +1,147 @@
+package com.akerumort.VacationPayCalculator.controllers;
+
+import com.akerumort.VacationPayCalculator.dto.VacationPayBatchItemResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayForecastRequestDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayForecastResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayRequestDto;
+import com.akerumort.VacationPayCalculator.exceptions.CustomValidationException;
+import com.akerumort.VacationPayCalculator.metrics.VacationPayMetrics;
+import com.akerumort.VacationPayCalculator.services.EarningsHistoryStore;
+import com.akerumort.VacationPayCalculator.services.VacationPayBatchService;
+import com.akerumort.VacationPayCalculator.services.VacationPayForecastService;
+import com.akerumort.VacationPayCalculator.services.VacationPayResult;
+import com.akerumort.VacationPayCalculator.services.VacationPayService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking variant of the calculation API, active when the application runs as a reactive web application
+ * ({@code reactive} profile). The calculation itself is short and CPU-bound, so it runs on the event loop thread
+ * that decoded the request.
+ */
+@RestController
+@RequestMapping("/calculate")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveVacationPayController {
+
+    private final VacationPayService vacationPayService;
+    private final VacationPayBatchService vacationPayBatchService;
+    private final VacationPayForecastService vacationPayForecastService;
+    private final VacationPayMetrics vacationPayMetrics;
+    private final EarningsHistoryStore earningsHistoryStore;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Calculates vacation pay for a single request with the same responses as the servlet endpoint.
+     *
+     * @param request Vacation pay request
+     * @return Calculation result, or the validation message with status 400
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Object>> calculateVacationPay(@Valid @RequestBody Mono<VacationPayRequestDto> request) {
+        return request.map(this::calculate);
+    }
+
+    /**
+     * Calculates vacation pay for a JSON array of requests. Items are decoded, calculated and written one by one;
+     * an item that cannot be read is reported with its errors like an invalid one.
+     *
+     * @param requests Vacation pay requests
+     * @return Per-item results in the order of the requests
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<VacationPayBatchItemResponseDto> calculateVacationPayBatch(
+            @RequestBody Flux<JsonNode> requests) {
+        return calculateItems(requests);
+    }
+
+    /**
+     * Calculates vacation pay for newline-delimited JSON requests and streams back one result line per request.
+     *
+     * @param requests Vacation pay requests
+     * @return Per-item results in the order of the requests
+     */
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<VacationPayBatchItemResponseDto> calculateVacationPayStream(
+            @RequestBody Flux<JsonNode> requests) {
+        return calculateItems(requests);
+    }
+
+    /**
+     * Forecasts vacation pay for every start date of a year with the same response as the servlet endpoint.
+     *
+     * @param request Forecast request
+     * @return Paid vacation days by start date and length, and vacation pay by paid days
+     */
+    @PostMapping(value = "/forecast", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<VacationPayForecastResponseDto> forecastVacationPay(
+            @Valid @RequestBody Mono<VacationPayForecastRequestDto> request) {
+        return request.map(requestDto -> vacationPayForecastService.forecast(requestDto.getAverageSalary(),
+                requestDto.getYear(), requestDto.getMaxLength()));
+    }
+
+    /**
+     * Binds and calculates every item. Items are decoded as trees, so that a null item keeps its position
+     * instead of being dropped from the stream.
+     */
+    private Flux<VacationPayBatchItemResponseDto> calculateItems(Flux<JsonNode> requests) {
+        return requests.index()
+                .map(item -> calculateItem(item.getT1(), item.getT2()));
+    }
+
+    private VacationPayBatchItemResponseDto calculateItem(long index, JsonNode item) {
+        VacationPayRequestDto request;
+        try {
+            request = objectMapper.treeToValue(item, VacationPayRequestDto.class);
+        } catch (JsonProcessingException ex) {
+            return new VacationPayBatchItemResponseDto(index, null,
+                    Map.of("error", "Invalid item format. Details: " + ex.getOriginalMessage()));
+        }
+        return vacationPayBatchService.calculateItem(index, request);
+    }
+
+    private ResponseEntity<Object> calculate(VacationPayRequestDto requestDto) {
+        long start = System.nanoTime();
+        try {
+            VacationPayResult result = vacationPayService.evaluate(
+                    earningsHistoryStore.resolveAverageSalary(requestDto.getAverageSalary(),
+                            requestDto.getEmployeeId()),
+                    requestDto.getVacationDays(),
+                    requestDto.getVacationDates(),
+                    requestDto.getVacationStartDate(),
+                    requestDto.getVacationEndDate(),
+                    requestDto.getVacationPeriods(),
+                    requestDto.getEmployeeId()
+            );
+
+            if (result.isRejected()) {
+                vacationPayMetrics.recordValidationError();
+                return ResponseEntity.badRequest().body(result.error().getMessage());
+            }
+            vacationPayMetrics.recordResult(result.response());
+            return ResponseEntity.ok(result.response());
+        } catch (CustomValidationException ex) {
+            vacationPayMetrics.recordValidationError();
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        } catch (Exception ex) {
+            vacationPayMetrics.recordServerError();
+            return ResponseEntity.status(500).body("Unexpected error: " + ex.getMessage());
+        } finally {
+            vacationPayMetrics.getRequestTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.akerumort.VacationPayCalculator.controllers;
+
+import com.akerumort.VacationPayCalculator.mappers.VacationPayMapperImpl;
+import com.akerumort.VacationPayCalculator.metrics.VacationPayMetrics;
+import com.akerumort.VacationPayCalculator.services.AuditJournal;
+import com.akerumort.VacationPayCalculator.services.BigDecimalMoneyEngine;
+import com.akerumort.VacationPayCalculator.services.EarningsHistoryStore;
+import com.akerumort.VacationPayCalculator.services.HolidayCalendar;
+import com.akerumort.VacationPayCalculator.services.ParallelCalculationExecutor;
+import com.akerumort.VacationPayCalculator.services.VacationPayBatchService;
+import com.akerumort.VacationPayCalculator.services.VacationPayForecastService;
+import com.akerumort.VacationPayCalculator.services.VacationPayResultCache;
+import com.akerumort.VacationPayCalculator.services.VacationPayService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReactiveVacationPayControllerTest {
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void setUp() {
+        HolidayCalendar holidayCalendar = new HolidayCalendar();
+        VacationPayMetrics vacationPayMetrics = new VacationPayMetrics(new SimpleMeterRegistry());
+        VacationPayService vacationPayService = new VacationPayService(new VacationPayMapperImpl(),
+                holidayCalendar, new BigDecimalMoneyEngine(), vacationPayMetrics,
+                new VacationPayResultCache(false, 0, Duration.ZERO, new SimpleMeterRegistry()),
+                new AuditJournal(false, "", DataSize.ofMegabytes(1), Duration.ZERO, 0, 0, new SimpleMeterRegistry()));
+        VacationPayBatchService vacationPayBatchService = new VacationPayBatchService(vacationPayService,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ParallelCalculationExecutor(1, 1),
+                new EarningsHistoryStore("", Duration.ZERO));
+        webTestClient = WebTestClient.bindToController(new ReactiveVacationPayController(vacationPayService,
+                vacationPayBatchService, new VacationPayForecastService(holidayCalendar, new BigDecimalMoneyEngine()),
+                vacationPayMetrics, new EarningsHistoryStore("", Duration.ZERO),
+                new ObjectMapper().registerModule(new JavaTimeModule())))
+                .build();
+    }
+
+    @Test
+    public void testCalculateVacationPay() {
+        webTestClient.post().uri("/calculate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"averageSalary\": 80000.00, \"vacationDays\": 14, "
+                        + "\"vacationStartDate\": \"2024-09-01\", \"vacationEndDate\": \"2024-09-14\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.vacationPay").isEqualTo(23754.31)
+                .jsonPath("$.paidVacationDays").isEqualTo(10);
+    }
+
+    @Test
+    public void testForecastVacationPay() {
+        webTestClient.post().uri("/calculate/forecast")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"averageSalary\": 80000.00, \"year\": 2024, \"maxLength\": 14}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.paidVacationDays.length()").isEqualTo(366)
+                .jsonPath("$.paidVacationDays[244][13]").isEqualTo(10)
+                .jsonPath("$.vacationPayByPaidDays[10]").isEqualTo(23754.31);
+    }
+
+    @Test
+    public void testStreamKeepsPositionOfInvalidItems() {
+        List<String> rows = webTestClient.post().uri("/calculate/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue("""
+                        {"averageSalary": 80000.00, "vacationDays": 14}
+                        null
+                        {"averageSalary": 80000.00, "vacationDays": 14, "vacationDates": ["x"]}
+                        {"averageSalary": 80000.00, "vacationDays": 2}
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(4, rows.size());
+        assertTrue(rows.get(0).startsWith("{\"index\":0,\"result\":{\"vacationPay\":33256.03"), rows.get(0));
+        assertEquals("{\"index\":1,\"errors\":{\"error\":\"Request item cannot be null\"}}", rows.get(1));
+        assertTrue(rows.get(2).startsWith("{\"index\":2,\"errors\":{\"error\":\"Invalid item format."), rows.get(2));
+        assertTrue(rows.get(3).startsWith("{\"index\":3,\"result\":{\"vacationPay\":4750.86"), rows.get(3));
+    }
+}
@@ -0,0 +1,39 @@
+package com.akerumort.VacationPayCalculator.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AotBuildSettingsCheckTest {
+
+    @Test
+    public void testSameSettingsPass() {
+        MockEnvironment build = new MockEnvironment()
+                .withProperty("vacation-pay.money-engine", "big-decimal")
+                .withProperty("vacation-pay.cache.enabled", "true");
+        MockEnvironment runtime = new MockEnvironment()
+                .withProperty("vacation-pay.money-engine", "big-decimal")
+                .withProperty("vacation-pay.cache.enabled", "false");
+
+        assertEquals(List.of(), AotBuildSettingsCheck.differences(AotBuildSettingsCheck.record(build), runtime));
+    }
+
+    @Test
+    public void testChangedConditionSettingsAreReported() {
+        Properties built = AotBuildSettingsCheck.record(new MockEnvironment()
+                .withProperty("vacation-pay.money-engine", "big-decimal"));
+        MockEnvironment runtime = new MockEnvironment()
+                .withProperty("vacation-pay.money-engine", "fixed-point")
+                .withProperty("spring.main.web-application-type", "reactive");
+        runtime.setActiveProfiles("reactive");
+
+        assertEquals(List.of("spring.profiles.active was '' and is 'reactive'",
+                        "vacation-pay.money-engine was 'big-decimal' and is 'fixed-point'",
+                        "spring.main.web-application-type was not set and is 'reactive'"),
+                AotBuildSettingsCheck.differences(built, runtime));
+    }
+}
@@ -0,0 +1,81 @@
+package com.akerumort.VacationPayCalculator.config;
+
+import com.akerumort.VacationPayCalculator.dto.DetailedVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayRequestDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayResponse;
+import com.akerumort.VacationPayCalculator.dto.VacationPeriodPayDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryFormatModuleTest {
+
+    private static final ObjectMapper CBOR = BinaryContentConfig.configure(new CBORMapper());
+    private static final ObjectMapper SMILE = BinaryContentConfig.configure(new SmileMapper());
+
+    @Test
+    public void testDatesAreIntegersAndMoneyIsDecimal() throws IOException {
+        DetailedVacationPayResponseDto response = new DetailedVacationPayResponseDto(new BigDecimal("18252.34"), 4,
+                7, List.of(new VacationPeriodPayDto(LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 9),
+                new BigDecimal("9504.5"), 2, 5)), VacationPayResponse.TAX_MESSAGE);
+
+        for (ObjectMapper mapper : List.of(CBOR, SMILE)) {
+            JsonNode tree = mapper.readTree(mapper.writeValueAsBytes(response));
+
+            assertTrue(tree.get("vacationPay").isBigDecimal());
+            assertEquals(0, new BigDecimal("18252.34").compareTo(tree.get("vacationPay").decimalValue()));
+            JsonNode period = tree.get("periods").get(0);
+            assertEquals(LocalDate.of(2024, 6, 3).toEpochDay(), period.get("startDate").longValue());
+            assertEquals(0, new BigDecimal("9504.5").compareTo(period.get("vacationPay").decimalValue()));
+        }
+    }
+
+    @Test
+    public void testRequestRoundTrip() throws IOException {
+        VacationPayRequestDto request = new VacationPayRequestDto(new BigDecimal("50000"), 2,
+                List.of(LocalDate.of(2024, 9, 2), LocalDate.of(2024, 9, 3)), null, null);
+
+        for (ObjectMapper mapper : List.of(CBOR, SMILE)) {
+            VacationPayRequestDto decoded = mapper.readValue(mapper.writeValueAsBytes(request),
+                    VacationPayRequestDto.class);
+
+            assertEquals(0, request.getAverageSalary().compareTo(decoded.getAverageSalary()));
+            assertEquals(request.getVacationDates(), decoded.getVacationDates());
+            assertNull(decoded.getVacationStartDate());
+        }
+    }
+
+    @Test
+    public void testIntegerAmountIsWholeRubles() throws IOException {
+        for (ObjectMapper mapper : List.of(CBOR, SMILE)) {
+            byte[] encoded = mapper.writeValueAsBytes(Map.of("averageSalary", 50000, "vacationDays", 1));
+            VacationPayRequestDto decoded = mapper.readValue(encoded, VacationPayRequestDto.class);
+
+            assertEquals(0, new BigDecimal("50000").compareTo(decoded.getAverageSalary()));
+        }
+    }
+
+    @Test
+    public void testExactDecimalsAndTextValues() throws IOException {
+        BigDecimal precise = new BigDecimal("50000.125");
+        assertEquals(precise, CBOR.readValue(CBOR.writeValueAsBytes(precise), BigDecimal.class));
+        assertEquals(precise, SMILE.readValue(SMILE.writeValueAsBytes(precise), BigDecimal.class));
+
+        byte[] text = CBOR.writeValueAsBytes(Map.of("averageSalary", "50000.50", "vacationDays", 1,
+                "vacationStartDate", "2024-09-02"));
+        VacationPayRequestDto decoded = CBOR.readValue(text, VacationPayRequestDto.class);
+
+        assertEquals(new BigDecimal("50000.50"), decoded.getAverageSalary());
+        assertEquals(LocalDate.of(2024, 9, 2), decoded.getVacationStartDate());
+    }
+}
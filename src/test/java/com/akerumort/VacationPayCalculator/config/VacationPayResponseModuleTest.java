@@ -0,0 +1,53 @@
+package com.akerumort.VacationPayCalculator.config;
+
+import com.akerumort.VacationPayCalculator.dto.DetailedVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.SimpleVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayResponse;
+import com.akerumort.VacationPayCalculator.dto.VacationPeriodPayDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VacationPayResponseModuleTest {
+
+    private static final List<VacationPayResponse> RESPONSES = List.of(
+            new SimpleVacationPayResponseDto(new BigDecimal("33256.03"), VacationPayResponse.TAX_MESSAGE),
+            new DetailedVacationPayResponseDto(new BigDecimal("23754.31"), 4, 10, VacationPayResponse.TAX_MESSAGE),
+            new DetailedVacationPayResponseDto(new BigDecimal("1E+3"), null, 0, "Custom \"message\""),
+            new SimpleVacationPayResponseDto(null, null),
+            new DetailedVacationPayResponseDto(new BigDecimal("18252.34"), 4, 7, List.of(
+                    new VacationPeriodPayDto(LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 9),
+                            new BigDecimal("9504.59"), 2, 5),
+                    new VacationPeriodPayDto(LocalDate.of(2024, 8, 3), LocalDate.of(2024, 8, 6),
+                            new BigDecimal("4751.87"), 2, 2)),
+                    VacationPayResponse.TAX_MESSAGE));
+
+    @Test
+    public void testOutputMatchesBeanSerialization() throws JsonProcessingException {
+        ObjectMapper beanMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        ObjectMapper moduleMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .registerModule(new VacationPayResponseModule(false));
+
+        for (VacationPayResponse response : RESPONSES) {
+            assertEquals(beanMapper.writeValueAsString(response), moduleMapper.writeValueAsString(response));
+        }
+    }
+
+    @Test
+    public void testCompactModeDropsStandardMessageOnly() throws JsonProcessingException {
+        ObjectMapper compactMapper = new ObjectMapper().registerModule(new VacationPayResponseModule(true));
+
+        assertEquals("{\"vacationPay\":33256.03}", compactMapper.writeValueAsString(RESPONSES.get(0)));
+        assertEquals("{\"vacationPay\":23754.31,\"weekendsAndHolidays\":4,\"paidVacationDays\":10}",
+                compactMapper.writeValueAsString(RESPONSES.get(1)));
+        assertTrue(compactMapper.writeValueAsString(RESPONSES.get(2))
+                .contains("\"message\":\"Custom \\\"message\\\"\""));
+    }
+}
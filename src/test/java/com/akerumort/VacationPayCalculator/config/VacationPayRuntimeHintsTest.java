@@ -0,0 +1,32 @@
+package com.akerumort.VacationPayCalculator.config;
+
+import com.akerumort.VacationPayCalculator.dto.DetailedVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayRequestDto;
+import com.akerumort.VacationPayCalculator.mappers.VacationPayMapperImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VacationPayRuntimeHintsTest {
+
+    @Test
+    public void testRegistersDtosMapperAndCsvRow() throws ClassNotFoundException {
+        RuntimeHints hints = new RuntimeHints();
+        new VacationPayRuntimeHints.Registrar().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(VacationPayRequestDto.class, "setVacationPeriods")
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(DetailedVacationPayResponseDto.class, "getPeriods")
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(VacationPayMapperImpl.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(VacationPayRuntimeHints.CSV_RESULT_ROW))
+                .test(hints));
+        assertNotNull(Class.forName(VacationPayRuntimeHints.CSV_RESULT_ROW));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("log4j2.xml").test(hints));
+    }
+}
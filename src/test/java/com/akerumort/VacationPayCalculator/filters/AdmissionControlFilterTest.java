@@ -0,0 +1,128 @@
+package com.akerumort.VacationPayCalculator.filters;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionControlFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void testClientOverRateIsShedWithRetryAfter() throws ServletException, IOException {
+        AdmissionControlFilter filter = filter(1, 2, 10);
+
+        assertEquals(200, send(filter, "a").getStatus());
+        assertEquals(200, send(filter, "a").getStatus());
+        MockHttpServletResponse shed = send(filter, "a");
+
+        assertEquals(429, shed.getStatus());
+        assertEquals("1", shed.getHeader("Retry-After"));
+        assertEquals(1, meterRegistry.get("vacation.pay.admission.shed").tag("reason", "rate").counter().count());
+    }
+
+    @Test
+    public void testBucketRefillsOverTime() {
+        AdmissionControlFilter filter = filter(10, 1, 10);
+        long now = System.nanoTime();
+
+        assertEquals(0, filter.acquireToken("a", now));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), filter.acquireToken("a", now));
+        assertEquals(0, filter.acquireToken("a", now + TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+
+    @Test
+    public void testRequestOverConcurrencyLimitIsShed() throws ServletException, IOException {
+        AdmissionControlFilter filter = filter(1000, 1000, 2);
+        MockHttpServletResponse[] shed = new MockHttpServletResponse[1];
+
+        FilterChain innerChain = (request, response) -> shed[0] = send(filter, "c");
+        FilterChain outerChain = (request, response) ->
+                filter.doFilter(calculateRequest("b"), new MockHttpServletResponse(), innerChain);
+        filter.doFilter(calculateRequest("a"), new MockHttpServletResponse(), outerChain);
+
+        assertEquals(429, shed[0].getStatus());
+        assertEquals(1, meterRegistry.get("vacation.pay.admission.shed").tag("reason", "concurrency").counter()
+                .count());
+        assertEquals(200, send(filter, "c").getStatus());
+    }
+
+    @Test
+    public void testLimitAdaptsToLatency() {
+        AdmissionControlFilter.ConcurrencyLimit limit = filter(1000, 1000, 10).limitFor("/calculate");
+        long slow = TimeUnit.MILLISECONDS.toNanos(200);
+        long fast = TimeUnit.MILLISECONDS.toNanos(1);
+
+        limit.adjust(slow, 10);
+        assertEquals(9.0, limit.getLimit(), 1e-9);
+
+        for (int i = 0; i < 9; i++) {
+            limit.adjust(fast, 9);
+        }
+        assertEquals(10.0, limit.getLimit(), 0.1);
+
+        limit.adjust(fast, 1);
+        assertEquals(10.0, limit.getLimit(), 0.1);
+    }
+
+    @Test
+    public void testBulkRequestsHaveTheirOwnLimit() throws ServletException, IOException {
+        AdmissionControlFilter filter = filter(1000, 1000, 1);
+        AdmissionControlFilter.ConcurrencyLimit single = filter.limitFor("/calculate");
+        AdmissionControlFilter.ConcurrencyLimit bulk = filter.limitFor("/calculate/batch");
+        assertSame(bulk, filter.limitFor("/calculate/forecast"));
+
+        // A batch slower than the single calculation target but within the bulk one leaves both limits alone
+        bulk.adjust(TimeUnit.MILLISECONDS.toNanos(500), 1);
+        assertEquals(1.0, single.getLimit(), 1e-9);
+        assertEquals(2.0, bulk.getLimit(), 1e-9);
+
+        MockHttpServletResponse[] singleResponse = new MockHttpServletResponse[1];
+        FilterChain batchChain = (request, response) -> singleResponse[0] = send(filter, "b");
+        MockHttpServletRequest batch = new MockHttpServletRequest("POST", "/calculate/batch");
+        batch.addHeader("X-Client-Id", "a");
+        filter.doFilter(batch, new MockHttpServletResponse(), batchChain);
+
+        assertEquals(200, singleResponse[0].getStatus());
+    }
+
+    @Test
+    public void testOtherPathsAreNotLimited() throws ServletException, IOException {
+        AdmissionControlFilter filter = filter(1, 1, 10);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    private AdmissionControlFilter filter(double rate, int burst, int limit) {
+        return new AdmissionControlFilter("X-Client-Id", rate, burst, 16, limit, 1, 100, Duration.ofMillis(100),
+                Duration.ofSeconds(1), 0.9, meterRegistry);
+    }
+
+    private static MockHttpServletResponse send(AdmissionControlFilter filter, String client)
+            throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(calculateRequest(client), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest calculateRequest(String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/calculate");
+        request.addHeader("X-Client-Id", client);
+        return request;
+    }
+}
@@ -0,0 +1,55 @@
+package com.akerumort.VacationPayCalculator.filters;
+
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompressionThresholdFilterTest {
+
+    private final CompressionThresholdFilter compressionThresholdFilter =
+            new CompressionThresholdFilter(DataSize.ofBytes(64));
+
+    @Test
+    public void testSmallResponseIsSentWithLength() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        compressionThresholdFilter.doFilter(compressingRequest(), response, (request, filteredResponse) -> {
+            filteredResponse.getOutputStream().write("{\"vacationPay\":1}".getBytes());
+            filteredResponse.getOutputStream().flush();
+            assertFalse(filteredResponse.isCommitted());
+        });
+
+        assertEquals(17, response.getContentLength());
+        assertEquals("{\"vacationPay\":1}", response.getContentAsString());
+    }
+
+    @Test
+    public void testLargeResponseIsPassedThrough() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String body = "x".repeat(100);
+
+        compressionThresholdFilter.doFilter(compressingRequest(), response, (request, filteredResponse) -> {
+            filteredResponse.getWriter().write(body.substring(0, 50));
+            filteredResponse.getWriter().flush();
+            assertFalse(filteredResponse.isCommitted());
+            filteredResponse.getWriter().write(body.substring(50));
+            filteredResponse.flushBuffer();
+            assertTrue(filteredResponse.isCommitted());
+        });
+
+        assertEquals(0, response.getContentLength());
+        assertEquals(body, response.getContentAsString());
+    }
+
+    private static MockHttpServletRequest compressingRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/calculate");
+        request.addHeader("Accept-Encoding", "gzip");
+        return request;
+    }
+}
@@ -0,0 +1,81 @@
+package com.akerumort.VacationPayCalculator.filters;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GzipRequestFilterTest {
+
+    private static final String BODY = "{\"averageSalary\": 80000.00, \"vacationDays\": 14}";
+
+    private final GzipRequestFilter gzipRequestFilter = new GzipRequestFilter(DataSize.ofKilobytes(1));
+
+    @Test
+    public void testGzipBodyIsInflated() throws ServletException, IOException {
+        MockHttpServletRequest request = compressedRequest(BODY);
+        MockFilterChain filterChain = new MockFilterChain();
+
+        gzipRequestFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        HttpServletRequest filtered = (HttpServletRequest) filterChain.getRequest();
+        assertEquals(BODY, new String(filtered.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        assertNull(filtered.getHeader("Content-Encoding"));
+        assertEquals(-1, filtered.getContentLengthLong());
+    }
+
+    @Test
+    public void testInflatedBodyOverLimitFailsRead() throws ServletException, IOException {
+        MockHttpServletRequest request = compressedRequest(" ".repeat(2048));
+        MockFilterChain filterChain = new MockFilterChain();
+
+        gzipRequestFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        HttpServletRequest filtered = (HttpServletRequest) filterChain.getRequest();
+        assertThrows(IOException.class, () -> filtered.getInputStream().readAllBytes());
+    }
+
+    @Test
+    public void testUncompressedBodyPassesThrough() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/calculate");
+        MockFilterChain filterChain = new MockFilterChain();
+
+        gzipRequestFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        assertSame(request, filterChain.getRequest());
+    }
+
+    @Test
+    public void testUnsupportedEncodingIsRejected() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/calculate");
+        request.addHeader("Content-Encoding", "zstd");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        gzipRequestFilter.doFilter(request, response, filterChain);
+
+        assertEquals(415, response.getStatus());
+        assertNull(filterChain.getRequest());
+    }
+
+    private static MockHttpServletRequest compressedRequest(String body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/calculate");
+        request.addHeader("Content-Encoding", "gzip");
+        request.setContent(compressed.toByteArray());
+        return request;
+    }
+}
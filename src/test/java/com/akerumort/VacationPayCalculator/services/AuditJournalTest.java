@@ -0,0 +1,175 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.akerumort.VacationPayCalculator.dto.DetailedVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.SimpleVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayResponse;
+import com.akerumort.VacationPayCalculator.dto.VacationPeriodDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testRecordsAreReadBackAcrossSegments() throws Exception {
+        AuditJournal auditJournal = createJournal();
+        LocalDate start = LocalDate.of(2024, 9, 1);
+        for (int i = 0; i < 200; i++) {
+            auditJournal.record(3, new BigDecimal("80000.00").add(BigDecimal.valueOf(i)), null, 14, null, start,
+                    start.plusDays(13), null, new DetailedVacationPayResponseDto(new BigDecimal("23754.31"), 4, 10,
+                            VacationPayResponse.TAX_MESSAGE));
+        }
+        auditJournal.record(3, new BigDecimal("80000.00"), "E-1042", 3,
+                List.of(start, start.plusDays(7), start.plusDays(8)), null, null, null,
+                new SimpleVacationPayResponseDto(new BigDecimal("7125.94"), VacationPayResponse.TAX_MESSAGE));
+        auditJournal.record(3, new BigDecimal("80000.00"), null, 3, null, null, null,
+                List.of(new VacationPeriodDto(start, start.plusDays(2))), new DetailedVacationPayResponseDto(
+                        new BigDecimal("4750.86"), 1, 2, VacationPayResponse.TAX_MESSAGE));
+        auditJournal.destroy();
+
+        List<AuditRecord> records = readAll();
+        assertTrue(AuditJournalReader.segments(directory).size() > 1);
+        assertEquals(202, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(i, records.get(i).sequence());
+            assertEquals(3, records.get(i).calendarVersion());
+        }
+
+        AuditRecord range = records.get(199);
+        assertEquals(new BigDecimal("80199.00"), range.averageSalary());
+        assertEquals(start, range.vacationStartDate());
+        assertEquals(start.plusDays(13), range.vacationEndDate());
+        assertNull(range.employeeId());
+        assertNull(range.vacationDates());
+        assertEquals(new BigDecimal("23754.31"), range.vacationPay());
+        assertEquals(4, range.weekendsAndHolidays());
+        assertEquals(10, range.paidVacationDays());
+
+        AuditRecord dates = records.get(200);
+        assertEquals("E-1042", dates.employeeId());
+        assertEquals(List.of(start, start.plusDays(7), start.plusDays(8)), dates.vacationDates());
+        assertNull(dates.vacationStartDate());
+        assertNull(dates.paidVacationDays());
+
+        AuditRecord periods = records.get(201);
+        assertEquals(start.plusDays(2), periods.vacationPeriods().get(0).getEndDate());
+        assertEquals(2, periods.paidVacationDays());
+    }
+
+    @Test
+    public void testReopenedJournalContinuesAfterTornRecord() throws Exception {
+        AuditJournal auditJournal = createJournal();
+        recordSimple(auditJournal, 10);
+        auditJournal.destroy();
+
+        // A crash in the middle of a frame leaves a length without a matching payload
+        Path last = AuditJournalReader.segments(directory).get(AuditJournalReader.segments(directory).size() - 1);
+        MappedByteBuffer segment = AuditJournalReader.map(last, FileChannel.MapMode.READ_WRITE);
+        int end = AuditJournalReader.scan(segment, (buffer, offset, length) -> {
+        });
+        segment.putInt(end, 40);
+        segment.putInt(end + Integer.BYTES, 12345);
+        segment.put(end + AuditJournal.FRAME_HEADER_SIZE, (byte) 1);
+
+        auditJournal = createJournal();
+        recordSimple(auditJournal, 5);
+        auditJournal.destroy();
+
+        List<AuditRecord> records = readAll();
+        assertEquals(15, records.size());
+        assertEquals(14, records.get(14).sequence());
+    }
+
+    @Test
+    public void testFormatVersion1RecordsHaveNoEmployeeId() {
+        AuditRecord record = AuditRecord.of(3, new BigDecimal("80000.00"), null, 14, null, null, null, null,
+                new SimpleVacationPayResponseDto(new BigDecimal("33256.03"), VacationPayResponse.TAX_MESSAGE));
+        ByteBuffer encoded = ByteBuffer.allocate(record.maxEncodedSize());
+        record.encode(7, encoded);
+
+        // Version 1 has no employee id between the average salary (scale, length and 3 bytes) and vacation days
+        int employeeIdOffset = 1 + 3 * Long.BYTES + Short.BYTES + 1 + 3;
+        ByteBuffer version1 = ByteBuffer.allocate(encoded.position() - Integer.BYTES);
+        version1.put(encoded.array(), 0, employeeIdOffset);
+        version1.put(encoded.array(), employeeIdOffset + Integer.BYTES,
+                encoded.position() - employeeIdOffset - Integer.BYTES);
+        version1.put(0, (byte) 1);
+
+        AuditRecord decoded = AuditRecord.decode(version1.flip());
+        assertEquals(7, decoded.sequence());
+        assertNull(decoded.employeeId());
+        assertEquals(14, decoded.vacationDays());
+        assertEquals(new BigDecimal("33256.03"), decoded.vacationPay());
+    }
+
+    @Test
+    public void testDisabledJournalWritesNothing() throws Exception {
+        AuditJournal auditJournal = new AuditJournal(false, directory.toString(), DataSize.ofKilobytes(4),
+                Duration.ofMillis(1), 10, 100, new SimpleMeterRegistry());
+        recordSimple(auditJournal, 3);
+        auditJournal.destroy();
+
+        assertTrue(AuditJournalReader.segments(directory).isEmpty());
+    }
+
+    @Test
+    public void testFailedWriterRejectsCalculations() throws Exception {
+        Path journalDirectory = directory.resolve("journal");
+        AuditJournal auditJournal = new AuditJournal(true, journalDirectory.toString(), DataSize.ofKilobytes(4),
+                Duration.ofMillis(1), 10, 100, new SimpleMeterRegistry());
+        assertEquals(Status.UP, auditJournal.health().getStatus());
+
+        // The next segment cannot be created once the directory is gone
+        for (Path segment : AuditJournalReader.segments(journalDirectory)) {
+            Files.delete(segment);
+        }
+        Files.delete(journalDirectory);
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        assertThrows(IllegalStateException.class, () -> {
+            while (true) {
+                assertTrue(System.nanoTime() < deadline, "Audit journal writer did not fail");
+                recordSimple(auditJournal, 1);
+            }
+        });
+
+        assertEquals(Status.DOWN, auditJournal.health().getStatus());
+        auditJournal.destroy();
+    }
+
+    private AuditJournal createJournal() {
+        return new AuditJournal(true, directory.toString(), DataSize.ofKilobytes(4), Duration.ofMillis(1), 10, 100,
+                new SimpleMeterRegistry());
+    }
+
+    private static void recordSimple(AuditJournal auditJournal, int count) {
+        for (int i = 0; i < count; i++) {
+            auditJournal.record(0, new BigDecimal("80000.00"), null, 14, null, null, null, null,
+                    new SimpleVacationPayResponseDto(new BigDecimal("33256.03"), VacationPayResponse.TAX_MESSAGE));
+        }
+    }
+
+    private List<AuditRecord> readAll() throws IOException {
+        List<AuditRecord> records = new ArrayList<>();
+        AuditJournalReader.read(directory, records::add);
+        return records;
+    }
+}
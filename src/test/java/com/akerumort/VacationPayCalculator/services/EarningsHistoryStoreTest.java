@@ -0,0 +1,124 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.akerumort.VacationPayCalculator.exceptions.CustomValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EarningsHistoryStoreTest {
+
+    @TempDir
+    private Path directory;
+
+    private final EarningsHistoryStore store = new EarningsHistoryStore("", Duration.ZERO);
+
+    @Test
+    public void testExcludedDaysReduceWorkedMonths() {
+        store.record("E1", YearMonth.of(2024, 1), new BigDecimal("60000.00"), 0);
+        // 14 of the 29 days of February 2024 are excluded: 15/29 of a month worked
+        Optional<BigDecimal> average = store.record("E1", YearMonth.of(2024, 2), new BigDecimal("30000.00"), 14);
+
+        BigDecimal expected = new BigDecimal("90000.00").multiply(new BigDecimal(29))
+                .divide(new BigDecimal(29 + 15), 2, RoundingMode.HALF_UP);
+        assertEquals(Optional.of(expected), average);
+        assertEquals(2, store.getRecordedMonths("E1"));
+    }
+
+    @Test
+    public void testWindowKeepsTwelveMonthsAndAcceptsCorrections() {
+        for (int month = 1; month <= 12; month++) {
+            store.record("E1", YearMonth.of(2023, month), new BigDecimal("50000"), 0);
+        }
+        assertEquals(Optional.of(new BigDecimal("50000.00")), store.getAverageSalary("E1"));
+
+        store.record("E1", YearMonth.of(2024, 2), new BigDecimal("80000"), 0);
+        // January 2024 is missing, January and February 2023 are evicted
+        assertEquals(11, store.getRecordedMonths("E1"));
+        assertEquals(Optional.of(new BigDecimal("52727.27")), store.getAverageSalary("E1"));
+
+        store.record("E1", YearMonth.of(2023, 12), new BigDecimal("61000"), 0);
+        assertEquals(Optional.of(new BigDecimal("53727.27")), store.getAverageSalary("E1"));
+        assertThrows(CustomValidationException.class,
+                () -> store.record("E1", YearMonth.of(2023, 2), new BigDecimal("1"), 0));
+
+        store.record("E1", YearMonth.of(2026, 1), new BigDecimal("70000"), 31);
+        assertEquals(1, store.getRecordedMonths("E1"));
+        assertEquals(Optional.empty(), store.getAverageSalary("E1"));
+    }
+
+    @Test
+    public void testOverflowingMonthLeavesHistoryUnchanged() {
+        store.record("E1", YearMonth.of(2024, 1), new BigDecimal("45000.00"), 0);
+        BigDecimal maxEarnings = BigDecimal.valueOf(Long.MAX_VALUE, 2);
+
+        // The total of the window overflows
+        assertThrows(CustomValidationException.class,
+                () -> store.record("E1", YearMonth.of(2024, 2), maxEarnings, 0));
+        // The total fits, but the average of a month with one worked day does not
+        assertThrows(CustomValidationException.class,
+                () -> store.record("E1", YearMonth.of(2024, 1), maxEarnings, 30));
+        assertThrows(CustomValidationException.class,
+                () -> store.record("E2", YearMonth.of(2024, 1), maxEarnings.scaleByPowerOfTen(1), 0));
+
+        assertEquals(1, store.getRecordedMonths("E1"));
+        assertEquals(Optional.of(new BigDecimal("45000.00")), store.getAverageSalary("E1"));
+        assertEquals(Optional.of(new BigDecimal("46000.00")),
+                store.record("E1", YearMonth.of(2024, 2), new BigDecimal("47000.00"), 0));
+        assertEquals(0, store.getRecordedMonths("E2"));
+    }
+
+    @Test
+    public void testResolveAverageSalary() {
+        store.record("E1", YearMonth.of(2024, 5), new BigDecimal("45000.50"), 0);
+
+        assertEquals(new BigDecimal("45000.50"), store.resolveAverageSalary(null, "E1"));
+        assertEquals(BigDecimal.TEN, store.resolveAverageSalary(BigDecimal.TEN, "E1"));
+        assertNull(store.resolveAverageSalary(null, null));
+        assertThrows(CustomValidationException.class, () -> store.resolveAverageSalary(null, "E2"));
+
+        // Earnings of 0.50 are below the minimum an explicit average salary must reach
+        store.record("E3", YearMonth.of(2024, 5), new BigDecimal("0.50"), 0);
+        assertEquals(Optional.of(new BigDecimal("0.50")), store.getAverageSalary("E3"));
+        assertThrows(CustomValidationException.class, () -> store.resolveAverageSalary(null, "E3"));
+    }
+
+    @Test
+    public void testMonthsAfterNextMonthAreRejected() {
+        YearMonth nextMonth = YearMonth.now().plusMonths(1);
+        store.record("E1", nextMonth.minusMonths(2), new BigDecimal("50000"), 0);
+        store.record("E1", nextMonth, new BigDecimal("50000"), 0);
+
+        assertThrows(CustomValidationException.class,
+                () -> store.record("E1", nextMonth.plusMonths(1), new BigDecimal("50000"), 0));
+        assertThrows(CustomValidationException.class,
+                () -> store.record("E1", YearMonth.of(9999, 12), new BigDecimal("50000"), 0));
+        assertEquals(2, store.getRecordedMonths("E1"));
+    }
+
+    @Test
+    public void testSnapshotRestoresHistories() {
+        String snapshotFile = directory.resolve("earnings.snapshot").toString();
+        EarningsHistoryStore first = new EarningsHistoryStore(snapshotFile, Duration.ZERO);
+        for (int employee = 0; employee < 40; employee++) {
+            first.record("E" + employee, YearMonth.of(2024, 3), new BigDecimal(40000 + employee), employee % 31);
+            first.record("E" + employee, YearMonth.of(2024, 4), new BigDecimal("41000.99"), 0);
+        }
+        first.destroy();
+
+        EarningsHistoryStore second = new EarningsHistoryStore(snapshotFile, Duration.ZERO);
+        for (int employee = 0; employee < 40; employee++) {
+            assertEquals(first.getAverageSalary("E" + employee), second.getAverageSalary("E" + employee));
+            assertEquals(2, second.getRecordedMonths("E" + employee));
+        }
+        assertThrows(CustomValidationException.class,
+                () -> second.record("E0", YearMonth.of(2023, 4), BigDecimal.ONE, 0));
+    }
+}
@@ -0,0 +1,69 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixedPointMoneyEngineTest {
+
+    private final MoneyEngine bigDecimalMoneyEngine = new BigDecimalMoneyEngine();
+    private final MoneyEngine fixedPointMoneyEngine = new FixedPointMoneyEngine();
+
+    @Test
+    public void testRandomSalariesAndDaysMatchBigDecimalEngine() {
+        Random random = new Random(20240901L);
+
+        for (int i = 0; i < 200_000; i++) {
+            int scale = random.nextInt(7) - 1;
+            long unscaledSalary = random.nextLong(1, 1_000_000_000_000L);
+            int paidDays = random.nextInt(0, 400);
+
+            assertSameResult(BigDecimal.valueOf(unscaledSalary, scale), paidDays);
+        }
+    }
+
+    @Test
+    public void testRoundingTiesMatchBigDecimalEngine() {
+        BigDecimal workDaysInMonth = new BigDecimal("29.3");
+
+        for (int kopecks = 0; kopecks < 100_000; kopecks++) {
+            // salary / 29.3 is exactly half a kopeck above a whole number of kopecks
+            BigDecimal dailyRate = BigDecimal.valueOf(kopecks * 10L + 5, 3);
+            BigDecimal averageSalary = dailyRate.multiply(workDaysInMonth);
+
+            for (int paidDays = 0; paidDays <= 31; paidDays++) {
+                assertSameResult(averageSalary, paidDays);
+            }
+        }
+    }
+
+    @Test
+    public void testNegativeAndExtremeSalariesMatchBigDecimalEngine() {
+        assertSameResult(new BigDecimal("-80000.00"), 14);
+        assertSameResult(new BigDecimal("-0.1465"), 3);
+        assertSameResult(new BigDecimal("5E+4"), 28);
+        assertSameResult(new BigDecimal("1E+12"), 28);
+        assertSameResult(new BigDecimal("0.00000000000000000001"), 28);
+        assertSameResult(new BigDecimal("92233720368547758.07"), 28);
+        assertSameResult(new BigDecimal("123456789012345678901234567890.12"), 14);
+    }
+
+    @Test
+    public void testKnownValues() {
+        assertEquals(new BigDecimal("33256.03"), fixedPointMoneyEngine.calculateNetVacationPay(
+                new BigDecimal("80000.00"), 14));
+        assertEquals(new BigDecimal("23754.31"), fixedPointMoneyEngine.calculateNetVacationPay(
+                new BigDecimal("80000"), 10));
+        assertEquals(new BigDecimal("0.00"), fixedPointMoneyEngine.calculateNetVacationPay(
+                new BigDecimal("80000.00"), 0));
+    }
+
+    private void assertSameResult(BigDecimal averageSalary, int paidDays) {
+        BigDecimal expected = bigDecimalMoneyEngine.calculateNetVacationPay(averageSalary, paidDays);
+        BigDecimal actual = fixedPointMoneyEngine.calculateNetVacationPay(averageSalary, paidDays);
+        assertEquals(expected, actual, () -> "averageSalary=" + averageSalary + ", paidDays=" + paidDays);
+    }
+}
@@ -0,0 +1,87 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidayCalendarLoaderTest {
+
+    private static final LocalDate TRANSFERRED_WORKDAY = LocalDate.of(2025, 11, 1);
+
+    @TempDir
+    private Path directory;
+
+    private HolidayCalendar holidayCalendar;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    public void setUp() {
+        holidayCalendar = new HolidayCalendar();
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    }
+
+    @Test
+    public void testLoadsCalendarAtStartup() throws IOException {
+        writeCalendar("{\"year\": 2025, \"holidays\": [\"2025-11-03\"], \"workingDays\": [\"2025-11-01\"]}", 1);
+
+        HolidayCalendarLoader loader = newLoader();
+
+        assertEquals(1, holidayCalendar.getVersion());
+        assertFalse(holidayCalendar.isHolidayOrWeekend(TRANSFERRED_WORKDAY));
+        assertTrue(holidayCalendar.isHolidayOrWeekend(LocalDate.of(2025, 11, 3)));
+        assertFalse(loader.reloadIfChanged());
+    }
+
+    @Test
+    public void testReloadsChangedCalendar() throws IOException {
+        writeCalendar("{\"year\": 2025, \"holidays\": [], \"workingDays\": [\"2025-11-01\"]}", 1);
+        HolidayCalendarLoader loader = newLoader();
+
+        writeCalendar("{\"year\": 2025, \"holidays\": [], \"workingDays\": []}", 2);
+
+        assertTrue(loader.reloadIfChanged());
+        assertEquals(2, holidayCalendar.getVersion());
+        assertTrue(holidayCalendar.isHolidayOrWeekend(TRANSFERRED_WORKDAY));
+    }
+
+    @Test
+    public void testInvalidCalendarKeepsPreviousVersion() throws IOException {
+        writeCalendar("{\"year\": 2025, \"holidays\": [], \"workingDays\": [\"2025-11-01\"]}", 1);
+        HolidayCalendarLoader loader = newLoader();
+
+        writeCalendar("{\"year\": 2025, \"holidays\": [\"2026-01-01\"], \"workingDays\": []}", 2);
+
+        assertFalse(loader.reloadIfChanged());
+        assertEquals(1, holidayCalendar.getVersion());
+        assertFalse(holidayCalendar.isHolidayOrWeekend(TRANSFERRED_WORKDAY));
+    }
+
+    @Test
+    public void testInvalidCalendarFailsStartup() throws IOException {
+        writeCalendar("{\"year\": 2025, \"holidays\": [\"2025-11-01\"], \"workingDays\": [\"2025-11-01\"]}", 1);
+
+        assertThrows(IllegalStateException.class, this::newLoader);
+    }
+
+    private HolidayCalendarLoader newLoader() {
+        return new HolidayCalendarLoader(holidayCalendar, objectMapper, directory.toString(), Duration.ZERO);
+    }
+
+    private void writeCalendar(String content, int revision) throws IOException {
+        Path file = directory.resolve("2025.json");
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.EPOCH.plusSeconds(revision)));
+    }
+}
@@ -0,0 +1,140 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidayCalendarTest {
+
+    private HolidayCalendar holidayCalendar;
+
+    @BeforeEach
+    public void setUp() {
+        holidayCalendar = new HolidayCalendar();
+    }
+
+    @Test
+    public void testPublicHolidaysAreNonWorking() {
+        assertTrue(holidayCalendar.isHolidayOrWeekend(LocalDate.of(2024, 1, 3)));
+        assertTrue(holidayCalendar.isHolidayOrWeekend(LocalDate.of(2024, 6, 12)));
+        assertTrue(holidayCalendar.isHolidayOrWeekend(LocalDate.of(2024, 11, 4)));
+    }
+
+    @Test
+    public void testWeekendsAreNonWorking() {
+        assertTrue(holidayCalendar.isHolidayOrWeekend(LocalDate.of(2024, 9, 7)));
+        assertTrue(holidayCalendar.isHolidayOrWeekend(LocalDate.of(2024, 9, 8)));
+        assertFalse(holidayCalendar.isHolidayOrWeekend(LocalDate.of(2024, 9, 9)));
+    }
+
+    @Test
+    public void testLeapYearLastDay() {
+        assertFalse(holidayCalendar.isHolidayOrWeekend(LocalDate.of(2024, 12, 31)));
+        assertTrue(holidayCalendar.isHolidayOrWeekend(LocalDate.of(2028, 12, 31)));
+    }
+
+    @Test
+    public void testCountHolidaysAndWeekendsMatchesPerDayLookup() {
+        LocalDate startDate = LocalDate.of(2023, 12, 20);
+        LocalDate endDate = LocalDate.of(2026, 1, 10);
+
+        for (LocalDate from = startDate; from.isBefore(endDate); from = from.plusDays(37)) {
+            for (LocalDate to = from; !to.isAfter(endDate); to = to.plusDays(53)) {
+                long expected = from.datesUntil(to.plusDays(1))
+                        .filter(holidayCalendar::isHolidayOrWeekend)
+                        .count();
+                assertEquals(expected, holidayCalendar.countHolidaysAndWeekends(from, to),
+                        "Range " + from + " - " + to);
+            }
+        }
+    }
+
+    @Test
+    public void testCountHolidaysAndWeekendsOverManyYears() {
+        holidayCalendar.install(List.of(new CalendarYear(2025, List.of(LocalDate.of(2025, 5, 2)),
+                List.of(LocalDate.of(2025, 11, 1)))));
+        LocalDate startDate = LocalDate.of(1850, 3, 15);
+        LocalDate endDate = LocalDate.of(2250, 10, 2);
+
+        long expected = startDate.datesUntil(endDate.plusDays(1))
+                .filter(holidayCalendar::isHolidayOrWeekend)
+                .count();
+        assertEquals(expected, holidayCalendar.countHolidaysAndWeekends(startDate, endDate));
+    }
+
+    @Test
+    public void testBuiltInYearsRepeatEvery400Years() {
+        int cycle = holidayCalendar.countHolidaysAndWeekends(LocalDate.of(2000, 1, 1), LocalDate.of(2399, 12, 31));
+
+        assertEquals(cycle, holidayCalendar.countHolidaysAndWeekends(LocalDate.of(-400, 1, 1),
+                LocalDate.of(-1, 12, 31)));
+        assertEquals(1000 * cycle, holidayCalendar.countHolidaysAndWeekends(LocalDate.of(100000, 1, 1),
+                LocalDate.of(499999, 12, 31)));
+        assertTrue(holidayCalendar.isHolidayOrWeekend(LocalDate.of(1000000, 1, 1)));
+        assertEquals(holidayCalendar.isHolidayOrWeekend(LocalDate.of(2024, 9, 9)),
+                holidayCalendar.isHolidayOrWeekend(LocalDate.of(2424, 9, 9)));
+    }
+
+    @Test
+    public void testCumulativeCountAcrossYearBoundary() {
+        LocalDate startDate = LocalDate.of(2024, 12, 20);
+        int[] cumulative = holidayCalendar.cumulativeCount(startDate, 40);
+
+        assertEquals(41, cumulative.length);
+        assertEquals(0, cumulative[0]);
+        for (int from = 0; from < 40; from += 7) {
+            for (int to = from; to <= 40; to += 5) {
+                assertEquals(to == from ? 0 : holidayCalendar.countHolidaysAndWeekends(startDate.plusDays(from),
+                        startDate.plusDays(to - 1)), cumulative[to] - cumulative[from], "Days " + from + " - " + to);
+            }
+        }
+    }
+
+    @Test
+    public void testCountHolidaysAndWeekendsForSingleDay() {
+        assertEquals(1, holidayCalendar.countHolidaysAndWeekends(LocalDate.of(2024, 5, 9),
+                LocalDate.of(2024, 5, 9)));
+        assertEquals(0, holidayCalendar.countHolidaysAndWeekends(LocalDate.of(2024, 5, 8),
+                LocalDate.of(2024, 5, 8)));
+    }
+
+    @Test
+    public void testInstalledYearAppliesTransfers() {
+        CalendarYear year2025 = new CalendarYear(2025,
+                List.of(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 5, 2), LocalDate.of(2025, 11, 3),
+                        LocalDate.of(2025, 11, 4)),
+                List.of(LocalDate.of(2025, 11, 1)));
+
+        assertEquals(1, holidayCalendar.install(List.of(year2025)));
+
+        assertTrue(holidayCalendar.isHolidayOrWeekend(LocalDate.of(2025, 5, 2)));
+        assertTrue(holidayCalendar.isHolidayOrWeekend(LocalDate.of(2025, 11, 3)));
+        assertFalse(holidayCalendar.isHolidayOrWeekend(LocalDate.of(2025, 11, 1)));
+        assertFalse(holidayCalendar.isHolidayOrWeekend(LocalDate.of(2025, 1, 2)));
+        assertEquals(3, holidayCalendar.countHolidaysAndWeekends(LocalDate.of(2025, 10, 30),
+                LocalDate.of(2025, 11, 4)));
+        assertTrue(holidayCalendar.isHolidayOrWeekend(LocalDate.of(2024, 1, 2)));
+    }
+
+    @Test
+    public void testInstallReplacesPreviousYears() {
+        holidayCalendar.install(List.of(new CalendarYear(2025, List.of(), List.of(LocalDate.of(2025, 11, 1)))));
+        holidayCalendar.install(List.of());
+
+        assertEquals(2, holidayCalendar.getVersion());
+        assertTrue(holidayCalendar.isHolidayOrWeekend(LocalDate.of(2025, 11, 1)));
+        assertTrue(holidayCalendar.isHolidayOrWeekend(LocalDate.of(2025, 1, 2)));
+    }
+
+    @Test
+    public void testInstallRejectsDuplicateYear() {
+        CalendarYear year2025 = new CalendarYear(2025, List.of(), List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> holidayCalendar.install(List.of(year2025, year2025)));
+        assertEquals(0, holidayCalendar.getVersion());
+    }
+}
@@ -0,0 +1,90 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.akerumort.VacationPayCalculator.dto.SimpleVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayBatchItemResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayRequestDto;
+import com.akerumort.VacationPayCalculator.exceptions.CustomValidationException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class VacationPayBatchServiceTest {
+
+    @Mock
+    private VacationPayService vacationPayService;
+
+    private VacationPayBatchService vacationPayBatchService;
+
+    @BeforeEach
+    public void setUp() {
+        vacationPayBatchService = new VacationPayBatchService(vacationPayService,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ParallelCalculationExecutor(2, 1),
+                new EarningsHistoryStore("", Duration.ZERO));
+    }
+
+    @Test
+    public void testCalculateBatchKeepsOrderAndIsolatesInvalidItems() {
+        SimpleVacationPayResponseDto simpleResponse = new SimpleVacationPayResponseDto(
+                new BigDecimal("1000.00"), "Amount is calculated after deducting 13% tax.");
+        when(vacationPayService.evaluate(eq(new BigDecimal("50000.00")), eq(14),
+                isNull(), isNull(), isNull(), isNull(), isNull()))
+                .thenReturn(VacationPayResult.of(simpleResponse));
+        when(vacationPayService.evaluate(any(), eq(3), isNull(), any(), any(), isNull(), isNull()))
+                .thenReturn(VacationPayResult.rejected(VacationPayError.DAYS_MISMATCH));
+        when(vacationPayService.evaluate(any(), eq(5), isNull(), isNull(), isNull(), isNull(), isNull()))
+                .thenThrow(new CustomValidationException("Error calculating vacation pay: Division by zero"));
+        when(vacationPayService.evaluate(any(), eq(7), isNull(), isNull(), isNull(), isNull(), isNull()))
+                .thenThrow(new IllegalStateException("Audit journal is unavailable: disk full"));
+
+        List<VacationPayBatchItemResponseDto> results = vacationPayBatchService.calculateBatch(Arrays.asList(
+                new VacationPayRequestDto(new BigDecimal("50000.00"), 14, null, null, null),
+                new VacationPayRequestDto(null, 14, null, null, null),
+                null,
+                new VacationPayRequestDto(new BigDecimal("50000.00"), 3, null,
+                        LocalDate.of(2024, 9, 1), LocalDate.of(2024, 9, 14)),
+                new VacationPayRequestDto(new BigDecimal("50000.00"), 5, null, null, null),
+                new VacationPayRequestDto(new BigDecimal("50000.00"), 7, null, null, null),
+                new VacationPayRequestDto(new BigDecimal("50000.00"), 14, null, null, null)
+        ));
+
+        assertEquals(7, results.size());
+        for (int index = 0; index < results.size(); index++) {
+            assertEquals(index, results.get(index).getIndex());
+        }
+
+        assertSame(simpleResponse, results.get(0).getResult());
+        assertNull(results.get(0).getErrors());
+
+        assertNull(results.get(1).getResult());
+        assertEquals("Average salary cannot be null", results.get(1).getErrors().get("averageSalary"));
+
+        assertEquals("Request item cannot be null", results.get(2).getErrors().get("error"));
+
+        assertEquals("Unexpected error: The vacation days don't match the number of dates shown.",
+                results.get(3).getErrors().get("error"));
+
+        assertEquals("Error calculating vacation pay: Division by zero", results.get(4).getErrors().get("error"));
+
+        assertEquals("Internal error: Audit journal is unavailable: disk full",
+                results.get(5).getErrors().get("error"));
+        assertEquals(VacationPayBatchService.INTERNAL_ERROR, results.get(5).getErrors().get("code"));
+
+        assertSame(simpleResponse, results.get(6).getResult());
+    }
+}
@@ -0,0 +1,184 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.akerumort.VacationPayCalculator.mappers.VacationPayMapperImpl;
+import com.akerumort.VacationPayCalculator.metrics.VacationPayMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VacationPayBulkServiceTest {
+
+    private static final int MAX_ROW_LENGTH = 256;
+
+    private VacationPayBulkService vacationPayBulkService;
+
+    @BeforeEach
+    public void setUp() {
+        HolidayCalendar holidayCalendar = new HolidayCalendar();
+        VacationPayService vacationPayService = new VacationPayService(new VacationPayMapperImpl(),
+                holidayCalendar, new BigDecimalMoneyEngine(), new VacationPayMetrics(new SimpleMeterRegistry()),
+                new VacationPayResultCache(false, 0, Duration.ZERO, new SimpleMeterRegistry()),
+                new AuditJournal(false, "", DataSize.ofMegabytes(1), Duration.ZERO, 0, 0, new SimpleMeterRegistry()));
+        ParallelCalculationExecutor parallelCalculationExecutor = new ParallelCalculationExecutor(4, 1);
+        VacationPayBatchService vacationPayBatchService = new VacationPayBatchService(vacationPayService,
+                Validation.buildDefaultValidatorFactory().getValidator(), parallelCalculationExecutor,
+                new EarningsHistoryStore("", Duration.ZERO));
+        vacationPayBulkService = new VacationPayBulkService(vacationPayBatchService,
+                new ObjectMapper().registerModule(new JavaTimeModule()), parallelCalculationExecutor,
+                DataSize.ofBytes(MAX_ROW_LENGTH));
+    }
+
+    @Test
+    public void testCalculateBulkNdjson() throws IOException {
+        String input = """
+                {"averageSalary": 80000.00, "vacationDays": 14}
+                not json
+
+                {"averageSalary": 80000.00, "vacationDays": 14, "vacationStartDate": "2024-09-01", "vacationEndDate": "2024-09-14"}
+                """;
+
+        String[] rows = process(input, VacationPayBulkService.Format.NDJSON).split("\n");
+
+        assertEquals(3, rows.length);
+        assertTrue(rows[0].startsWith("{\"index\":0,\"result\":{\"vacationPay\":33256.03"), rows[0]);
+        assertTrue(rows[1].startsWith("{\"index\":1,\"errors\":{\"error\":\"Invalid row format."), rows[1]);
+        assertTrue(rows[2].contains("\"vacationPay\":23754.31,\"weekendsAndHolidays\":4,\"paidVacationDays\":10"),
+                rows[2]);
+    }
+
+    @Test
+    public void testCalculateBulkCsv() throws IOException {
+        String input = """
+                averageSalary,vacationDays,vacationStartDate,vacationEndDate,vacationDates
+                80000.00,14,,,
+                80000.00,14,2024-09-01,2024-09-14,
+                80000.00,2,,,2024-09-06;2024-09-07
+                80000.00,3,2024-09-01,2024-09-14,
+                """;
+
+        String[] rows = process(input, VacationPayBulkService.Format.CSV).split("\n");
+
+        assertEquals(5, rows.length);
+        assertEquals("index,vacationPay,weekendsAndHolidays,paidVacationDays,error", rows[0]);
+        assertEquals("0,33256.03,,,", rows[1]);
+        assertEquals("1,23754.31,4,10,", rows[2]);
+        assertEquals("2,2375.43,1,1,", rows[3]);
+        assertTrue(rows[4].startsWith("3,,,,"), rows[4]);
+    }
+
+    @Test
+    public void testCalculateBulkCsvWithQuotedHeader() throws IOException {
+        String input = """
+                "averageSalary", "vacationDays","vacationDates"
+                80000.00,2,2024-09-06;2024-09-07
+                """;
+
+        String[] rows = process(input, VacationPayBulkService.Format.CSV).split("\n");
+
+        assertEquals(2, rows.length);
+        assertEquals("0,2375.43,1,1,", rows[1]);
+    }
+
+    @Test
+    public void testCalculateBulkCsvWithQuotedLineBreak() throws IOException {
+        String input = """
+                averageSalary,vacationDays,employeeId
+                80000.00,14,"E-1
+                042"
+                80000.00,2,E-1043
+                """;
+
+        String[] rows = process(input, VacationPayBulkService.Format.CSV).split("\n");
+
+        assertEquals(3, rows.length);
+        assertEquals("0,33256.03,,,", rows[1]);
+        assertEquals("1,4750.86,,,", rows[2]);
+    }
+
+    @Test
+    public void testCalculateBulkNdjsonContinuesAfterInvalidRows() throws IOException {
+        String input = """
+                {"averageSalary": 80000.00,
+                 "vacationDays": 14}
+                {"averageSalary": 80000.00, "vacationDays": "fourteen"}
+                {"averageSalary": 80000.00 "vacationDays": 14}
+                {"averageSalary": 80000.00, "vacationDays": 2}
+                """;
+
+        String[] rows = process(input, VacationPayBulkService.Format.NDJSON).split("\n");
+
+        assertEquals(4, rows.length);
+        assertTrue(rows[0].startsWith("{\"index\":0,\"result\":{\"vacationPay\":33256.03"), rows[0]);
+        assertTrue(rows[1].startsWith("{\"index\":1,\"errors\":{\"error\":\"Invalid row format."), rows[1]);
+        assertTrue(rows[2].startsWith("{\"index\":2,\"errors\":{\"error\":\"Invalid row format."), rows[2]);
+        assertTrue(rows[3].startsWith("{\"index\":3,\"result\":{\"vacationPay\":4750.86"), rows[3]);
+    }
+
+    @Test
+    public void testRowLongerThanMaximumEndsTheStream() {
+        String input = "{\"averageSalary\": 80000.00, \"vacationDays\": 14}\n"
+                + "{\"averageSalary\": 80000.00, \"vacationDays\": 14, \"employeeId\": \"" + "E".repeat(1000) + "\"}\n"
+                + "{\"averageSalary\": 80000.00, \"vacationDays\": 2}\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        VacationPayBulkService.RowTooLongException ex = assertThrows(VacationPayBulkService.RowTooLongException.class,
+                () -> vacationPayBulkService.calculateBulk(
+                        new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output,
+                        VacationPayBulkService.Format.NDJSON));
+
+        assertEquals("Row 1 is longer than " + MAX_ROW_LENGTH + " bytes", ex.getMessage());
+        String[] rows = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows.length);
+        assertTrue(rows[0].startsWith("{\"index\":0,\"result\""), rows[0]);
+        assertEquals("{\"index\":1,\"errors\":{\"error\":\"Row 1 is longer than " + MAX_ROW_LENGTH
+                + " bytes, the rest of the input was not read\"}}", rows[1]);
+    }
+
+    @Test
+    public void testCalculateBulkSkipsRowsAndStopsWhenTheListenerSays() throws IOException {
+        String input = """
+                averageSalary,vacationDays
+                80000.00,14
+                80000.00,2
+                80000.00,3
+                80000.00,4
+                80000.00,5
+                80000.00,6
+                """;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        List<Long> windows = new ArrayList<>();
+
+        long rows = vacationPayBulkService.calculateBulk(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output,
+                VacationPayBulkService.Format.CSV, 1, (processedRows, bytes) -> !windows.add(processedRows));
+
+        // One window of four rows after the skipped one, without the header of the skipped rows
+        assertEquals(5, rows);
+        assertEquals(List.of(5L), windows);
+        String[] results = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, results.length);
+        assertEquals("1,4750.86,,,", results[0]);
+        assertTrue(results[3].startsWith("4,"), results[3]);
+    }
+
+    private String process(String input, VacationPayBulkService.Format format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        vacationPayBulkService.calculateBulk(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                output, format);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
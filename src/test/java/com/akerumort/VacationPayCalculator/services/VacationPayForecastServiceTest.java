@@ -0,0 +1,78 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.akerumort.VacationPayCalculator.dto.DetailedVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayForecastResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayResponse;
+import com.akerumort.VacationPayCalculator.mappers.VacationPayMapperImpl;
+import com.akerumort.VacationPayCalculator.metrics.VacationPayMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VacationPayForecastServiceTest {
+
+    private VacationPayForecastService vacationPayForecastService;
+    private VacationPayService vacationPayService;
+    private BigDecimal averageSalary;
+
+    @BeforeEach
+    public void setUp() {
+        HolidayCalendar holidayCalendar = new HolidayCalendar();
+        MoneyEngine moneyEngine = new BigDecimalMoneyEngine();
+        vacationPayForecastService = new VacationPayForecastService(holidayCalendar, moneyEngine);
+        vacationPayService = new VacationPayService(new VacationPayMapperImpl(), holidayCalendar, moneyEngine,
+                new VacationPayMetrics(new SimpleMeterRegistry()),
+                new VacationPayResultCache(false, 0, Duration.ZERO, new SimpleMeterRegistry()),
+                new AuditJournal(false, "", DataSize.ofMegabytes(1), Duration.ZERO, 0, 0, new SimpleMeterRegistry()));
+        averageSalary = new BigDecimal("80000.00");
+    }
+
+    @Test
+    public void testForecastShape() {
+        VacationPayForecastResponseDto forecast = vacationPayForecastService.forecast(averageSalary, 2024, 28);
+
+        assertEquals(2024, forecast.getYear());
+        assertEquals(28, forecast.getMaxLength());
+        assertEquals(366, forecast.getPaidVacationDays().length);
+        assertEquals(28, forecast.getPaidVacationDays()[365].length);
+        assertEquals(29, forecast.getVacationPayByPaidDays().size());
+        assertEquals(0, BigDecimal.ZERO.compareTo(forecast.getVacationPayByPaidDays().get(0)));
+        assertEquals(VacationPayResponse.TAX_MESSAGE, forecast.getMessage());
+    }
+
+    @Test
+    public void testForecastMatchesPeriodRequests() {
+        VacationPayForecastResponseDto forecast = vacationPayForecastService.forecast(averageSalary, 2024, 28);
+        LocalDate yearStart = LocalDate.of(2024, 1, 1);
+
+        for (int start = 0; start < 366; start += 11) {
+            for (int length = 1; length <= 28; length += 3) {
+                LocalDate startDate = yearStart.plusDays(start);
+                DetailedVacationPayResponseDto expected = (DetailedVacationPayResponseDto) vacationPayService
+                        .calculateVacationPay(averageSalary, length, null, startDate,
+                                startDate.plusDays(length - 1));
+
+                int paidDays = forecast.getPaidVacationDays()[start][length - 1];
+                assertEquals(expected.getPaidVacationDays(), paidDays, startDate + " + " + length);
+                assertEquals(expected.getVacationPay(), forecast.getVacationPayByPaidDays().get(paidDays));
+            }
+        }
+    }
+
+    @Test
+    public void testForecastRunsIntoNextYear() {
+        VacationPayForecastResponseDto forecast = vacationPayForecastService.forecast(averageSalary, 2024, 14);
+
+        // December 25, 2024 + 14 days ends on January 7, 2025: the New Year holidays are not paid
+        int paidDays = forecast.getPaidVacationDays()[359][13];
+        assertEquals(14 - new HolidayCalendar().countHolidaysAndWeekends(LocalDate.of(2024, 12, 25),
+                LocalDate.of(2025, 1, 7)), paidDays);
+    }
+}
@@ -0,0 +1,196 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.akerumort.VacationPayCalculator.dto.VacationPayJobDto;
+import com.akerumort.VacationPayCalculator.mappers.VacationPayMapperImpl;
+import com.akerumort.VacationPayCalculator.metrics.VacationPayMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VacationPayJobServiceTest {
+
+    private static final String CSV_INPUT = """
+            averageSalary,vacationDays,vacationStartDate,vacationEndDate,vacationDates
+            80000.00,14,,,
+            80000.00,14,2024-09-01,2024-09-14,
+            80000.00,2,,,2024-09-01;2024-09-01
+            not a number,14,,,
+            60000.00,3,,,2024-12-31;2025-01-01;2025-01-09
+            """;
+
+    @TempDir
+    private Path directory;
+
+    private ParallelCalculationExecutor parallelCalculationExecutor;
+    private VacationPayBulkService vacationPayBulkService;
+    private VacationPayJobService vacationPayJobService;
+
+    @BeforeEach
+    public void setUp() {
+        HolidayCalendar holidayCalendar = new HolidayCalendar();
+        VacationPayService vacationPayService = new VacationPayService(new VacationPayMapperImpl(),
+                holidayCalendar, new BigDecimalMoneyEngine(), new VacationPayMetrics(new SimpleMeterRegistry()),
+                new VacationPayResultCache(false, 0, Duration.ZERO, new SimpleMeterRegistry()),
+                new AuditJournal(false, "", DataSize.ofMegabytes(1), Duration.ZERO, 0, 0, new SimpleMeterRegistry()));
+        parallelCalculationExecutor = new ParallelCalculationExecutor(2, 1);
+        VacationPayBatchService vacationPayBatchService = new VacationPayBatchService(vacationPayService,
+                Validation.buildDefaultValidatorFactory().getValidator(), parallelCalculationExecutor,
+                new EarningsHistoryStore("", Duration.ZERO));
+        vacationPayBulkService = new VacationPayBulkService(vacationPayBatchService,
+                new ObjectMapper().registerModule(new JavaTimeModule()), parallelCalculationExecutor,
+                DataSize.ofKilobytes(64));
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        if (vacationPayJobService != null) {
+            vacationPayJobService.destroy();
+        }
+        parallelCalculationExecutor.destroy();
+    }
+
+    @Test
+    public void testJobResultsMatchBulkStream() throws Exception {
+        String input = """
+                {"averageSalary": 80000.00, "vacationDays": 14}
+                not json
+
+                {"averageSalary": 80000.00, "vacationDays": 14, "vacationStartDate": "2024-09-01", "vacationEndDate": "2024-09-14"}
+                """;
+        vacationPayJobService = createJobService();
+
+        VacationPayJobDto job = vacationPayJobService.submit(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                VacationPayBulkService.Format.NDJSON);
+        VacationPayJobDto completed = awaitCompletion(job.getId());
+
+        assertEquals(3, completed.getProcessedRows());
+        assertEquals(completed.getInputBytes(), completed.getProcessedBytes());
+        assertEquals(bulk(input, VacationPayBulkService.Format.NDJSON),
+                Files.readString(vacationPayJobService.getResult(job.getId()).orElseThrow()));
+    }
+
+    @Test
+    public void testInterruptedJobResumesFromCheckpoint() throws Exception {
+        String expected = bulk(CSV_INPUT, VacationPayBulkService.Format.CSV);
+        String[] lines = CSV_INPUT.split("\n");
+        String[] resultLines = expected.split("\n");
+
+        // The previous run checkpointed two rows and wrote part of the third result before it stopped
+        String checkpointedInput = lines[0] + "\n" + lines[1] + "\n" + lines[2] + "\n";
+        String checkpointedOutput = resultLines[0] + "\n" + resultLines[1] + "\n" + resultLines[2] + "\n";
+        Path jobDirectory = Files.createDirectory(directory.resolve("interrupted"));
+        Files.writeString(jobDirectory.resolve(VacationPayJobService.INPUT_FILE), CSV_INPUT);
+        Files.writeString(jobDirectory.resolve(VacationPayJobService.OUTPUT_FILE),
+                checkpointedOutput + resultLines[3].substring(0, 5));
+        Files.writeString(jobDirectory.resolve(VacationPayJobService.STATE_FILE), String.join("\n",
+                "format=CSV",
+                "state=RUNNING",
+                "rows=2",
+                "inputOffset=" + checkpointedInput.getBytes(StandardCharsets.UTF_8).length,
+                "outputOffset=" + checkpointedOutput.getBytes(StandardCharsets.UTF_8).length));
+
+        vacationPayJobService = createJobService();
+        VacationPayJobDto completed = awaitCompletion("interrupted");
+
+        assertEquals(5, completed.getProcessedRows());
+        assertEquals(expected, Files.readString(vacationPayJobService.getResult("interrupted").orElseThrow()));
+    }
+
+    @Test
+    public void testRowLongerThanMaximumFailsTheJob() throws Exception {
+        String input = "{\"averageSalary\": 80000.00, \"vacationDays\": 14}\n"
+                + "{\"averageSalary\": 80000.00, \"vacationDays\": 14, \"employeeId\": \"" + "E".repeat(100_000)
+                + "\"}\n"
+                + "{\"averageSalary\": 80000.00, \"vacationDays\": 2}\n";
+        vacationPayJobService = createJobService();
+
+        VacationPayJobDto job = vacationPayJobService.submit(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                VacationPayBulkService.Format.NDJSON);
+        VacationPayJobDto failed = awaitFinished(job.getId());
+
+        assertEquals(VacationPayJobDto.State.FAILED, failed.getState());
+        assertEquals("Row 1 is longer than 65536 bytes, the limit of vacation-pay.bulk.max-row-length",
+                failed.getError());
+        assertTrue(vacationPayJobService.getResult(job.getId()).isEmpty());
+    }
+
+    @Test
+    public void testUnknownAndUnfinishedJobs() throws IOException {
+        Files.createDirectory(directory.resolve("abandoned-upload"));
+        Path corrupt = Files.createDirectory(directory.resolve("corrupt"));
+        Files.writeString(corrupt.resolve(VacationPayJobService.STATE_FILE), "format=CSV\nstate=RUNNING\n");
+        vacationPayJobService = createJobService();
+
+        assertTrue(vacationPayJobService.getJob("abandoned-upload").isEmpty());
+        assertFalse(Files.exists(directory.resolve("abandoned-upload")));
+        assertTrue(vacationPayJobService.getJob("corrupt").isEmpty());
+        assertTrue(Files.exists(corrupt));
+        assertTrue(vacationPayJobService.getResult("missing").isEmpty());
+    }
+
+    @Test
+    public void testInputOverMaximumSizeIsRejected() throws IOException {
+        vacationPayJobService = new VacationPayJobService(vacationPayBulkService, directory.toString(), 1, 10,
+                DataSize.ofBytes(CSV_INPUT.length() - 1), 1, Duration.ofHours(1));
+
+        assertThrows(VacationPayJobService.InputTooLargeException.class, () -> vacationPayJobService.submit(
+                new ByteArrayInputStream(CSV_INPUT.getBytes(StandardCharsets.UTF_8)),
+                VacationPayBulkService.Format.CSV));
+        try (Stream<Path> jobDirectories = Files.list(directory)) {
+            assertEquals(0, jobDirectories.count());
+        }
+    }
+
+    private VacationPayJobService createJobService() {
+        return new VacationPayJobService(vacationPayBulkService, directory.toString(), 1, 10,
+                DataSize.ofMegabytes(1), 1, Duration.ofHours(1));
+    }
+
+    private VacationPayJobDto awaitFinished(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        VacationPayJobDto job;
+        while ((job = vacationPayJobService.getJob(id).orElseThrow()).getState() != VacationPayJobDto.State.COMPLETED
+                && job.getState() != VacationPayJobDto.State.FAILED) {
+            assertTrue(System.nanoTime() < deadline, "Job " + id + " did not finish");
+            Thread.sleep(10);
+        }
+        return job;
+    }
+
+    private VacationPayJobDto awaitCompletion(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        VacationPayJobDto job;
+        while ((job = vacationPayJobService.getJob(id).orElseThrow()).getState() != VacationPayJobDto.State.COMPLETED) {
+            assertNotEquals(VacationPayJobDto.State.FAILED, job.getState(), job.getError());
+            assertTrue(System.nanoTime() < deadline, "Job " + id + " did not complete");
+            Thread.sleep(10);
+        }
+        return job;
+    }
+
+    private String bulk(String input, VacationPayBulkService.Format format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        vacationPayBulkService.calculateBulk(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                output, format);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
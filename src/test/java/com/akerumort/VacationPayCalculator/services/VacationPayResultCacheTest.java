@@ -0,0 +1,164 @@
+package com.akerumort.VacationPayCalculator.services;
+
+import com.akerumort.VacationPayCalculator.dto.SimpleVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPayResponse;
+import com.akerumort.VacationPayCalculator.exceptions.CustomValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VacationPayResultCacheTest {
+
+    private static final LocalDate START_DATE = LocalDate.of(2024, 9, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2024, 9, 14);
+
+    private VacationPayResultCache vacationPayResultCache;
+    private AtomicInteger calculations;
+
+    @BeforeEach
+    public void setUp() {
+        vacationPayResultCache = new VacationPayResultCache(true, 100, Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+        calculations = new AtomicInteger();
+    }
+
+    @Test
+    public void testDateListAndEquivalentRangeShareEntry() {
+        List<LocalDate> vacationDates = START_DATE.datesUntil(END_DATE.plusDays(1)).toList();
+
+        VacationPayResult first = vacationPayResultCache.get(0, new BigDecimal("80000.00"), 14, null,
+                START_DATE, END_DATE, countingCalculation());
+        VacationPayResult second = vacationPayResultCache.get(0, new BigDecimal("80000"), 14, vacationDates,
+                null, null, countingCalculation());
+        VacationPayResult third = vacationPayResultCache.get(0, new BigDecimal("80000.0"), 14, vacationDates,
+                START_DATE, END_DATE, countingCalculation());
+
+        assertEquals(1, calculations.get());
+        assertEquals(first.response().getVacationPay(), second.response().getVacationPay());
+        assertEquals(first.response().getVacationPay(), third.response().getVacationPay());
+    }
+
+    @Test
+    public void testCallersGetTheirOwnCopyOfCachedResponse() {
+        VacationPayResult first = vacationPayResultCache.get(0, new BigDecimal("80000.00"), 14, null,
+                START_DATE, END_DATE, countingCalculation());
+        ((SimpleVacationPayResponseDto) first.response()).setVacationPay(BigDecimal.TEN);
+        VacationPayResult second = vacationPayResultCache.get(0, new BigDecimal("80000.00"), 14, null,
+                START_DATE, END_DATE, countingCalculation());
+
+        assertEquals(1, calculations.get());
+        assertNotSame(first.response(), second.response());
+        assertEquals(BigDecimal.ONE, second.response().getVacationPay());
+    }
+
+    @Test
+    public void testConcurrentRequestsShareOneCalculation() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<VacationPayResult> slowCalculation = () -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return countingCalculation().get();
+        };
+
+        CompletableFuture<VacationPayResult> first = CompletableFuture.supplyAsync(() ->
+                vacationPayResultCache.get(0, new BigDecimal("80000.00"), 14, null, START_DATE, END_DATE,
+                        slowCalculation));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        CompletableFuture<VacationPayResult> second = CompletableFuture.supplyAsync(() ->
+                vacationPayResultCache.get(0, new BigDecimal("80000"), 14, null, START_DATE, END_DATE,
+                        slowCalculation));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals(BigDecimal.ONE, first.get(10, TimeUnit.SECONDS).response().getVacationPay());
+        assertEquals(BigDecimal.ONE, second.get(10, TimeUnit.SECONDS).response().getVacationPay());
+        assertEquals(1, calculations.get());
+    }
+
+    @Test
+    public void testFailedCalculationIsNotCached() {
+        Supplier<VacationPayResult> failingCalculation = () -> {
+            calculations.incrementAndGet();
+            throw new CustomValidationException("The vacation days don't match the number of dates shown.");
+        };
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThrows(CustomValidationException.class, () -> vacationPayResultCache.get(
+                    0, new BigDecimal("80000.00"), 3, null, START_DATE, END_DATE, failingCalculation));
+        }
+        assertEquals(2, calculations.get());
+    }
+
+    @Test
+    public void testRejectedRequestIsNotCached() {
+        Supplier<VacationPayResult> rejectingCalculation = () -> {
+            calculations.incrementAndGet();
+            return VacationPayResult.rejected(VacationPayError.DAYS_MISMATCH);
+        };
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            VacationPayResult result = vacationPayResultCache.get(0, new BigDecimal("80000.00"), 3, null,
+                    START_DATE, END_DATE, rejectingCalculation);
+            assertSame(VacationPayError.DAYS_MISMATCH, result.error());
+        }
+        assertEquals(2, calculations.get());
+    }
+
+    @Test
+    public void testMismatchedDatesAndRangeBypassCache() {
+        List<LocalDate> vacationDates = START_DATE.plusDays(1).datesUntil(END_DATE.plusDays(2)).toList();
+
+        vacationPayResultCache.get(0, new BigDecimal("80000.00"), 14, null, START_DATE, END_DATE,
+                countingCalculation());
+        vacationPayResultCache.get(0, new BigDecimal("80000.00"), 14, vacationDates, START_DATE, END_DATE,
+                countingCalculation());
+
+        assertEquals(2, calculations.get());
+    }
+
+    @Test
+    public void testDisabledCacheAlwaysCalculates() {
+        vacationPayResultCache = new VacationPayResultCache(false, 100, Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+
+        vacationPayResultCache.get(0, new BigDecimal("80000.00"), 14, null, null, null, countingCalculation());
+        vacationPayResultCache.get(0, new BigDecimal("80000.00"), 14, null, null, null, countingCalculation());
+
+        assertEquals(2, calculations.get());
+    }
+
+    @Test
+    public void testNewCalendarVersionInvalidatesEntries() {
+        vacationPayResultCache.get(0, new BigDecimal("80000.00"), 14, null, START_DATE, END_DATE,
+                countingCalculation());
+        vacationPayResultCache.get(1, new BigDecimal("80000.00"), 14, null, START_DATE, END_DATE,
+                countingCalculation());
+
+        assertEquals(2, calculations.get());
+    }
+
+    private Supplier<VacationPayResult> countingCalculation() {
+        return () -> {
+            calculations.incrementAndGet();
+            return VacationPayResult.of(
+                    new SimpleVacationPayResponseDto(BigDecimal.ONE, VacationPayResponse.TAX_MESSAGE));
+        };
+    }
+}
@@ -2,16 +2,25 @@ package com.akerumort.VacationPayCalculator.services;
 
 import com.akerumort.VacationPayCalculator.dto.DetailedVacationPayResponseDto;
 import com.akerumort.VacationPayCalculator.dto.SimpleVacationPayResponseDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPeriodDto;
+import com.akerumort.VacationPayCalculator.dto.VacationPeriodPayDto;
 import com.akerumort.VacationPayCalculator.exceptions.CustomValidationException;
 import com.akerumort.VacationPayCalculator.mappers.VacationPayMapper;
+import com.akerumort.VacationPayCalculator.metrics.VacationPayMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -19,6 +28,12 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +45,26 @@ public class VacationPayServiceTest {
     @Mock
     private VacationPayMapper vacationPayMapper;
 
+    @Spy
+    private HolidayCalendar holidayCalendar = new HolidayCalendar();
+
+    @Spy
+    private MoneyEngine moneyEngine = new BigDecimalMoneyEngine();
+
+    @Spy
+    private VacationPayMetrics vacationPayMetrics = new VacationPayMetrics(new SimpleMeterRegistry());
+
+    @Spy
+    private VacationPayResultCache vacationPayResultCache = new VacationPayResultCache(false, 0, Duration.ZERO,
+            new SimpleMeterRegistry());
+
+    @Spy
+    private AuditJournal auditJournal = new AuditJournal(false, "", DataSize.ofMegabytes(1), Duration.ZERO, 0, 0,
+            new SimpleMeterRegistry());
+
+    @Captor
+    private ArgumentCaptor<List<VacationPeriodPayDto>> breakdown;
+
     private BigDecimal averageSalary;
     private int vacationDays;
     private List<LocalDate> vacationDates;
@@ -82,6 +117,42 @@ public class VacationPayServiceTest {
         assertEquals("Amount is calculated after deducting 13% tax.", detailedDto.getMessage());
     }
 
+    @Test
+    public void testCalculateVacationPayWithStartAndEndDatesOnly() {
+        DetailedVacationPayResponseDto expectedResponse = new DetailedVacationPayResponseDto(
+                new BigDecimal("23754.31"), 4, 10, "Amount is calculated after deducting 13% tax.");
+
+        when(vacationPayMapper.toDetailedDto(any(BigDecimal.class), anyInt(), anyInt(), any(String.class)))
+                .thenReturn(expectedResponse);
+
+        Object response = vacationPayService.calculateVacationPay(averageSalary, vacationDays,
+                null, vacationStartDate, vacationEndDate);
+
+        assertTrue(response instanceof DetailedVacationPayResponseDto);
+        verify(vacationPayMapper).toDetailedDto(eq(new BigDecimal("23754.31")), eq(4), eq(10), any(String.class));
+        verify(auditJournal).record(eq(0L), eq(averageSalary), isNull(), eq(vacationDays), isNull(),
+                eq(vacationStartDate), eq(vacationEndDate), isNull(), same(expectedResponse));
+    }
+
+    @Test
+    public void testCalendarInstalledDuringCalculationIsNotMixedIn() {
+        DetailedVacationPayResponseDto expectedResponse = new DetailedVacationPayResponseDto(
+                new BigDecimal("23754.31"), 4, 10, "Amount is calculated after deducting 13% tax.");
+        when(vacationPayMapper.toDetailedDto(any(BigDecimal.class), anyInt(), anyInt(), any(String.class)))
+                .thenAnswer(invocation -> {
+                    holidayCalendar.install(List.of(new CalendarYear(2024, List.of(vacationStartDate.plusDays(1)),
+                            List.of())));
+                    return expectedResponse;
+                });
+
+        vacationPayService.calculateVacationPay(averageSalary, vacationDays, null, vacationStartDate,
+                vacationEndDate);
+
+        assertEquals(1, holidayCalendar.getVersion());
+        verify(auditJournal).record(eq(0L), eq(averageSalary), isNull(), eq(vacationDays), isNull(),
+                eq(vacationStartDate), eq(vacationEndDate), isNull(), same(expectedResponse));
+    }
+
     @Test
     public void testCalculateVacationPayWithMismatchedVacationDays() {
         vacationDays = 12;
@@ -126,4 +197,78 @@ public class VacationPayServiceTest {
         assertEquals("Unexpected error: The end date of the leave may not be earlier than the start date.",
                 exception.getMessage());
     }
+
+    @Test
+    public void testEvaluateReturnsErrorCodeForRejectedRequests() {
+        assertSame(VacationPayError.DAYS_MISMATCH, vacationPayService.evaluate(averageSalary, 12,
+                null, vacationStartDate, vacationEndDate).error());
+        assertSame(VacationPayError.REVERSED_PERIOD, vacationPayService.evaluate(averageSalary, vacationDays,
+                null, vacationStartDate, LocalDate.of(2024, 8, 31)).error());
+
+        List<LocalDate> duplicateDates = List.of(vacationStartDate, vacationStartDate);
+        VacationPayResult result = vacationPayService.evaluate(averageSalary, 2, duplicateDates, null, null);
+        assertTrue(result.isRejected());
+        assertNull(result.response());
+        assertSame(VacationPayError.DUPLICATE_DATES, result.error());
+        assertEquals("Unexpected error: Duplicate dates were found in the list of vacation dates.",
+                result.error().getPayload().get("error"));
+        verify(auditJournal, never()).record(anyLong(), any(), any(), anyInt(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testCalculateVacationPayWithUnorderedSplitDates() {
+        List<LocalDate> splitDates = List.of(LocalDate.of(2024, 9, 12), LocalDate.of(2024, 9, 2),
+                LocalDate.of(2024, 9, 3), LocalDate.of(2024, 9, 14));
+
+        VacationPayResult result = vacationPayService.evaluate(averageSalary, 4, splitDates, null, null);
+
+        assertFalse(result.isRejected());
+        verify(vacationPayMapper).toDetailedDto(any(BigDecimal.class), eq(1), eq(3), any(String.class));
+    }
+
+    @Test
+    public void testEvaluateRejectsUnorderedDuplicateDates() {
+        List<LocalDate> splitDates = List.of(LocalDate.of(2024, 9, 12), LocalDate.of(2024, 9, 2),
+                LocalDate.of(2024, 9, 12));
+
+        assertSame(VacationPayError.DUPLICATE_DATES,
+                vacationPayService.evaluate(averageSalary, 3, splitDates, null, null).error());
+    }
+
+    @Test
+    public void testCalculateVacationPayForSplitPeriods() {
+        List<VacationPeriodDto> periods = List.of(
+                new VacationPeriodDto(LocalDate.of(2024, 8, 3), LocalDate.of(2024, 8, 6)),
+                new VacationPeriodDto(LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 9)));
+
+        VacationPayResult result = vacationPayService.evaluate(averageSalary, 11, null, null, null, periods,
+                "E-1042");
+
+        assertFalse(result.isRejected());
+        verify(vacationPayMapper).toDetailedDto(any(BigDecimal.class), eq(4), eq(7), breakdown.capture(),
+                any(String.class));
+        assertEquals(2, breakdown.getValue().size());
+        assertEquals(LocalDate.of(2024, 8, 3), breakdown.getValue().get(0).getStartDate());
+        assertEquals(2, breakdown.getValue().get(0).getPaidVacationDays());
+        assertEquals(5, breakdown.getValue().get(1).getPaidVacationDays());
+        verify(auditJournal).record(eq(0L), eq(averageSalary), eq("E-1042"), eq(11), isNull(), isNull(), isNull(),
+                same(periods), any());
+    }
+
+    @Test
+    public void testEvaluateRejectsInvalidPeriods() {
+        List<VacationPeriodDto> overlapping = List.of(
+                new VacationPeriodDto(LocalDate.of(2024, 6, 9), LocalDate.of(2024, 6, 12)),
+                new VacationPeriodDto(LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 9)));
+        List<VacationPeriodDto> adjacent = List.of(
+                new VacationPeriodDto(LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 9)),
+                new VacationPeriodDto(LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12)));
+
+        assertSame(VacationPayError.OVERLAPPING_PERIODS,
+                vacationPayService.evaluate(averageSalary, 11, null, null, null, overlapping, null).error());
+        assertSame(VacationPayError.DAYS_MISMATCH,
+                vacationPayService.evaluate(averageSalary, 11, null, null, null, adjacent, null).error());
+        assertSame(VacationPayError.PERIODS_WITH_DATES, vacationPayService.evaluate(averageSalary, 10, null,
+                vacationStartDate, vacationEndDate, adjacent, null).error());
+    }
 }